@@ -0,0 +1,62 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Minimal benchmark harness for the plugin classes that run on a plain JVM.
+ *
+ * Each operation is warmed up, then timed over a fixed number of iterations on the current
+ * thread. Allocation is read from the JVM's per-thread allocation counter, so it counts every
+ * byte the operation allocated, including garbage that was collected during the run.
+ */
+final class Bench {
+
+    interface Op {
+        Object run() throws Exception;
+    }
+
+    // Keeps results reachable, so the JIT cannot drop the measured work.
+    static volatile Object blackhole;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Bench() {
+    }
+
+    static void measure(String name, int warmup, int iterations, Op op) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            blackhole = op.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole = op.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf(Locale.ROOT, "%-44s %10.3f ms/op %14d B/op%n",
+                name, elapsed / 1e6 / iterations, allocated / iterations);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Native side of loading a JSON save, for saves of 100 KB to 2 MB.
+ *
+ * "parsed" is the default path: the snapshot bytes are parsed into a JSONObject, which the
+ * PluginResult serializes again. "passthrough" decodes the bytes and only validates them
+ * before they are sent as raw JSON.
+ */
+public final class SavePassthroughBenchmark {
+
+    private static final int[] SIZES_KB = {100, 500, 1000, 2000};
+
+    public static void main(String[] args) throws Exception {
+        for (int kb : SIZES_KB) {
+            final byte[] stored = makeSave(kb).getBytes(StandardCharsets.UTF_8);
+            int iterations = Math.max(10, 4000 / kb);
+            Bench.measure("parsed      " + kb + " KB", iterations, iterations, new Bench.Op() {
+                @Override
+                public Object run() throws Exception {
+                    return new JSONObject(new String(stored, StandardCharsets.UTF_8)).toString();
+                }
+            });
+            Bench.measure("passthrough " + kb + " KB", iterations, iterations, new Bench.Op() {
+                @Override
+                public Object run() {
+                    return passthrough(new String(stored, StandardCharsets.UTF_8));
+                }
+            });
+        }
+    }
+
+    // The work RawJsonPluginResult.ofStoredText does, without the Cordova result object.
+    private static Object passthrough(String text) {
+        return JsonSyntax.isValid(text) ? text : null;
+    }
+
+    // Same shape as the save in examples/saved-games.md.
+    static String makeSave(int kb) {
+        StringBuilder json = new StringBuilder(kb * 1024 + 128).append("{\"version\":1,\"items\":[");
+        for (int id = 0; json.length() < kb * 1024; id++) {
+            if (id > 0) json.append(',');
+            json.append("{\"id\":").append(id)
+                    .append(",\"name\":\"item_").append(id)
+                    .append("\",\"stats\":[1,2,3,4],\"owned\":true}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Native side of sending 1000 leaderboard scores, the largest page Play Games returns.
+ *
+ * The rows are synthetic but have the shape GPGS writes, including a full score holder. The
+ * write methods below mirror GPGS.writeLeaderboardScore and GPGS.writePlayer, which need the
+ * Play Games types and don't run on a plain JVM.
+ *
+ * "JSONObject tree" builds each row with JSONObject.put and serializes the array, as the
+ * plugin did before it had JsonWriter. "JsonTree" builds the same objects through the shared
+ * write method, as the streamed and paged results do. "JsonWriter" writes the rows as text,
+ * the default path. The "fields" variants project every row to rank, displayScore and
+ * scoreHolder.displayName, once while writing and once with FieldProjection.apply on complete
+ * objects, as for cached achievements. "columnar" encodes the rows with ColumnarEncoder,
+ * written into its row sink or added as JSONObjects.
+ */
+public final class ScoreRowsBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    static final class Score {
+        long rank;
+        String displayRank;
+        long rawScore;
+        String displayScore;
+        long timestampMillis;
+        String playerId;
+        String displayName;
+        String iconImageUri;
+        String hiResImageUri;
+        String title;
+        int currentLevel;
+        long currentXp;
+        long lastLevelUpTimestamp;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Score[] scores = makeScores(ROWS);
+        final FieldProjection fields = FieldProjection.from(new JSONObject()
+                .put("fields", new JSONArray().put("rank").put("displayScore").put("scoreHolder.displayName")));
+        final JSONArray cached = new JSONArray();
+        for (Score score : scores) {
+            cached.put(toJsonObject(score));
+        }
+
+        Bench.measure("JSONObject tree", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() throws Exception {
+                JSONArray rows = new JSONArray();
+                for (Score score : scores) {
+                    rows.put(toJsonObject(score));
+                }
+                return rows.toString();
+            }
+        });
+        Bench.measure("JsonTree", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() {
+                JSONArray rows = new JSONArray();
+                for (Score score : scores) {
+                    JsonTree tree = new JsonTree();
+                    writeScore(tree, score, null);
+                    rows.put(tree.object());
+                }
+                return rows.toString();
+            }
+        });
+        Bench.measure("JsonWriter", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() {
+                return writeAll(scores, null);
+            }
+        });
+        Bench.measure("JsonWriter, fields", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() {
+                return writeAll(scores, fields);
+            }
+        });
+        Bench.measure("FieldProjection.apply, fields", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() throws Exception {
+                return FieldProjection.apply(fields, cached).toString();
+            }
+        });
+        Bench.measure("columnar, row sink", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() {
+                ColumnarEncoder encoder = new ColumnarEncoder();
+                for (Score score : scores) {
+                    writeScore(encoder.row(), score, null);
+                }
+                return encoder.toJson();
+            }
+        });
+        Bench.measure("columnar, JSONObject rows", WARMUP, ITERATIONS, new Bench.Op() {
+            @Override
+            public Object run() throws Exception {
+                ColumnarEncoder encoder = new ColumnarEncoder();
+                for (Score score : scores) {
+                    encoder.addRow(toJsonObject(score));
+                }
+                return encoder.toJson();
+            }
+        });
+    }
+
+    private static String writeAll(Score[] scores, FieldProjection fields) {
+        JsonWriter writer = JsonWriter.obtain().beginArray();
+        for (Score score : scores) {
+            writeScore(writer, score, fields);
+        }
+        return writer.endArray().toString();
+    }
+
+    private static void writeScore(JsonSink writer, Score score, FieldProjection fields) {
+        writer.beginObject();
+        if (FieldProjection.includes(fields, "rank")) writer.name("rank").value(score.rank);
+        if (FieldProjection.includes(fields, "displayRank")) writer.name("displayRank").value(score.displayRank);
+        if (FieldProjection.includes(fields, "rawScore")) writer.name("rawScore").value(score.rawScore);
+        if (FieldProjection.includes(fields, "displayScore")) writer.name("displayScore").value(score.displayScore);
+        if (FieldProjection.includes(fields, "timestampMillis")) writer.name("timestampMillis").value(score.timestampMillis);
+        if (FieldProjection.includes(fields, "scoreHolder")) {
+            FieldProjection holder = FieldProjection.nested(fields, "scoreHolder");
+            writer.name("scoreHolder").beginObject();
+            if (FieldProjection.includes(holder, "id")) writer.name("id").value(score.playerId);
+            if (FieldProjection.includes(holder, "displayName")) writer.name("displayName").value(score.displayName);
+            if (FieldProjection.includes(holder, "iconImageUri")) writer.name("iconImageUri").value(score.iconImageUri);
+            if (FieldProjection.includes(holder, "hiResImageUri")) writer.name("hiResImageUri").value(score.hiResImageUri);
+            if (FieldProjection.includes(holder, "title")) writer.name("title").value(score.title);
+            if (FieldProjection.includes(holder, "levelInfo")) {
+                writer.name("levelInfo").beginObject()
+                        .name("currentLevel").value(score.currentLevel)
+                        .name("currentXp").value(score.currentXp)
+                        .name("lastLevelUpTimestamp").value(score.lastLevelUpTimestamp)
+                        .endObject();
+            }
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static JSONObject toJsonObject(Score score) throws Exception {
+        JSONObject levelInfo = new JSONObject()
+                .put("currentLevel", score.currentLevel)
+                .put("currentXp", score.currentXp)
+                .put("lastLevelUpTimestamp", score.lastLevelUpTimestamp);
+        JSONObject holder = new JSONObject()
+                .put("id", score.playerId)
+                .put("displayName", score.displayName)
+                .put("iconImageUri", score.iconImageUri)
+                .put("hiResImageUri", score.hiResImageUri)
+                .put("title", score.title)
+                .put("levelInfo", levelInfo);
+        return new JSONObject()
+                .put("rank", score.rank)
+                .put("displayRank", score.displayRank)
+                .put("rawScore", score.rawScore)
+                .put("displayScore", score.displayScore)
+                .put("timestampMillis", score.timestampMillis)
+                .put("scoreHolder", holder);
+    }
+
+    private static Score[] makeScores(int count) {
+        Score[] scores = new Score[count];
+        for (int i = 0; i < count; i++) {
+            Score score = new Score();
+            score.rank = i + 1;
+            score.displayRank = (i + 1) + ".";
+            score.rawScore = 1000000L - i * 37L;
+            score.displayScore = String.format("%,d", score.rawScore);
+            score.timestampMillis = 1760000000000L - i * 60000L;
+            score.playerId = "g" + (10000000000L + i * 7919L);
+            score.displayName = "Player " + i;
+            score.iconImageUri = "content://com.google.android.gms.games.background/images/icon/" + i;
+            score.hiResImageUri = "content://com.google.android.gms.games.background/images/hires/" + i;
+            score.title = i % 3 == 0 ? "Champion" : "Challenger";
+            score.currentLevel = 1 + i % 50;
+            score.currentXp = 10000L + i * 13L;
+            score.lastLevelUpTimestamp = 1750000000000L - i * 3600000L;
+            scores[i] = score;
+        }
+        return scores;
+    }
+}
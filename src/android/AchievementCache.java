@@ -0,0 +1,213 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.games.achievement.Achievement;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Achievement JSON keyed by achievement id, served stale-while-revalidate.
+ *
+ * Entries are never mutated in place: local updates replace the entry with a modified copy,
+ * so arrays handed out by {@link #snapshot()} stay consistent while they are serialized.
+ *
+ * Local progress is remembered until a refresh shows that the server has caught up with it.
+ * Until then it is applied again on top of refreshed data, so a refresh that races a
+ * write-behind flush never rolls progress back.
+ */
+final class AchievementCache {
+
+    private final long ttlMs;
+    private final Map<String, JSONObject> achievements = new LinkedHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private long loadedAt = -1;
+
+    private final Map<String, Integer> localSteps = new HashMap<>();
+    private final Set<String> localUnlocks = new HashSet<>();
+    private final Set<String> localReveals = new HashSet<>();
+
+    AchievementCache(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    synchronized boolean hasData() {
+        return loadedAt >= 0;
+    }
+
+    synchronized boolean isStale() {
+        return loadedAt < 0 || SystemClock.elapsedRealtime() - loadedAt > ttlMs;
+    }
+
+    /**
+     * Returns true for the caller that should run the background refresh.
+     */
+    boolean beginRefresh() {
+        return refreshing.compareAndSet(false, true);
+    }
+
+    void endRefresh() {
+        refreshing.set(false);
+    }
+
+    synchronized JSONArray snapshot() {
+        JSONArray result = new JSONArray();
+        for (JSONObject achievement : achievements.values()) {
+            result.put(achievement);
+        }
+        return result;
+    }
+
+    synchronized void update(JSONArray loaded) {
+        achievements.clear();
+        for (int i = 0; i < loaded.length(); i++) {
+            JSONObject achievement = loaded.optJSONObject(i);
+            if (achievement != null) {
+                String achievementId = achievement.optString("achievementId");
+                achievements.put(achievementId, achievement);
+                reapplyLocal(achievementId, achievement);
+            }
+        }
+        loadedAt = SystemClock.elapsedRealtime();
+    }
+
+    synchronized void clear() {
+        achievements.clear();
+        localSteps.clear();
+        localUnlocks.clear();
+        localReveals.clear();
+        loadedAt = -1;
+    }
+
+    synchronized boolean isUnlocked(String achievementId) {
+        JSONObject achievement = achievements.get(achievementId);
+        return achievement != null && achievement.optInt("state", -1) == Achievement.STATE_UNLOCKED;
+    }
+
+    synchronized void unlock(String achievementId) {
+        localUnlocks.add(achievementId);
+        applyUnlock(achievementId);
+    }
+
+    synchronized void reveal(String achievementId) {
+        localReveals.add(achievementId);
+        applyReveal(achievementId);
+    }
+
+    synchronized void increment(String achievementId, int numSteps) {
+        JSONObject achievement = achievements.get(achievementId);
+        if (achievement == null || !achievement.has("currentSteps")) return;
+        setSteps(achievementId, achievement.optInt("currentSteps") + numSteps);
+    }
+
+    synchronized void setSteps(String achievementId, int numSteps) {
+        Integer steps = applySteps(achievementId, numSteps);
+        if (steps != null) {
+            Integer local = localSteps.get(achievementId);
+            localSteps.put(achievementId, local != null ? Math.max(local, steps) : steps);
+        }
+    }
+
+    // Applies local progress the loaded entry doesn't show yet, and forgets what it does show.
+    private void reapplyLocal(String achievementId, JSONObject loaded) {
+        Integer steps = localSteps.get(achievementId);
+        if (steps != null) {
+            if (!loaded.has("currentSteps") || loaded.optInt("currentSteps") >= steps) {
+                localSteps.remove(achievementId);
+            } else {
+                applySteps(achievementId, steps);
+            }
+        }
+        if (localUnlocks.contains(achievementId)) {
+            if (loaded.optInt("state", -1) == Achievement.STATE_UNLOCKED) {
+                localUnlocks.remove(achievementId);
+            } else {
+                applyUnlock(achievementId);
+            }
+        }
+        if (localReveals.contains(achievementId)) {
+            if (loaded.optInt("state", -1) != Achievement.STATE_HIDDEN) {
+                localReveals.remove(achievementId);
+            } else {
+                applyReveal(achievementId);
+            }
+        }
+    }
+
+    private void applyUnlock(String achievementId) {
+        JSONObject achievement = copyOf(achievementId);
+        if (achievement == null) return;
+        put(achievement, "state", Achievement.STATE_UNLOCKED);
+        if (achievement.has("totalSteps")) {
+            put(achievement, "currentSteps", achievement.optInt("totalSteps"));
+        }
+        achievements.put(achievementId, achievement);
+    }
+
+    private void applyReveal(String achievementId) {
+        JSONObject achievement = copyOf(achievementId);
+        if (achievement == null || achievement.optInt("state") != Achievement.STATE_HIDDEN) return;
+        put(achievement, "state", Achievement.STATE_REVEALED);
+        achievements.put(achievementId, achievement);
+    }
+
+    // Returns the resulting step count, or null if the achievement is not cached as incremental.
+    private Integer applySteps(String achievementId, int numSteps) {
+        JSONObject achievement = copyOf(achievementId);
+        if (achievement == null || !achievement.has("currentSteps")) return null;
+        int totalSteps = achievement.optInt("totalSteps");
+        int steps = Math.min(Math.max(achievement.optInt("currentSteps"), numSteps), totalSteps);
+        put(achievement, "currentSteps", steps);
+        if (steps >= totalSteps) {
+            put(achievement, "state", Achievement.STATE_UNLOCKED);
+        }
+        achievements.put(achievementId, achievement);
+        return steps;
+    }
+
+    private JSONObject copyOf(String achievementId) {
+        JSONObject original = achievements.get(achievementId);
+        if (original == null) return null;
+        JSONObject copy = new JSONObject();
+        Iterator<String> keys = original.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            put(copy, key, original.opt(key));
+        }
+        return copy;
+    }
+
+    private static void put(JSONObject json, String key, Object value) {
+        try {
+            json.put(key, value);
+        } catch (JSONException ignored) { }
+    }
+}
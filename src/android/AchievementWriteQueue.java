@@ -0,0 +1,140 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for incremental achievement progress.
+ *
+ * Increments for the same achievement are summed and setSteps calls keep the highest value,
+ * so a burst of calls turns into at most one setSteps and one increment per achievement and
+ * flush interval.
+ */
+final class AchievementWriteQueue {
+
+    interface Sink {
+        void increment(String achievementId, int numSteps);
+        void setSteps(String achievementId, int numSteps);
+    }
+
+    private static final class Pending {
+        int increment;
+        int steps = -1;
+    }
+
+    private final Sink sink;
+    private final ScheduledExecutorService scheduler;
+    private final long flushIntervalMs;
+
+    private final Map<String, Pending> pending = new HashMap<>();
+    private boolean flushScheduled = false;
+
+    AchievementWriteQueue(Sink sink, ScheduledExecutorService scheduler, long flushIntervalMs) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    void increment(String achievementId, int numSteps) {
+        if (flushIntervalMs <= 0) {
+            sink.increment(achievementId, numSteps);
+            return;
+        }
+        synchronized (pending) {
+            pendingFor(achievementId).increment += numSteps;
+            scheduleFlush();
+        }
+    }
+
+    void setSteps(String achievementId, int numSteps) {
+        if (flushIntervalMs <= 0) {
+            sink.setSteps(achievementId, numSteps);
+            return;
+        }
+        int earlierSteps = -1;
+        int earlierIncrement = 0;
+        synchronized (pending) {
+            Pending entry = pendingFor(achievementId);
+            // setSteps is applied before increments on flush, so increments queued before
+            // this call have to go out first, together with any setSteps queued before them,
+            // to keep the original ordering.
+            if (entry.increment > 0) {
+                earlierSteps = entry.steps;
+                earlierIncrement = entry.increment;
+                entry.steps = -1;
+                entry.increment = 0;
+            }
+            entry.steps = Math.max(entry.steps, numSteps);
+            scheduleFlush();
+        }
+        if (earlierSteps >= 0) {
+            sink.setSteps(achievementId, earlierSteps);
+        }
+        if (earlierIncrement > 0) {
+            sink.increment(achievementId, earlierIncrement);
+        }
+    }
+
+    /**
+     * Sends everything that is pending right away.
+     */
+    void flush() {
+        Map<String, Pending> batch;
+        synchronized (pending) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = new HashMap<>(pending);
+            pending.clear();
+        }
+        for (Map.Entry<String, Pending> entry : batch.entrySet()) {
+            Pending value = entry.getValue();
+            if (value.steps >= 0) {
+                sink.setSteps(entry.getKey(), value.steps);
+            }
+            if (value.increment > 0) {
+                sink.increment(entry.getKey(), value.increment);
+            }
+        }
+    }
+
+    private Pending pendingFor(String achievementId) {
+        Pending entry = pending.get(achievementId);
+        if (entry == null) {
+            entry = new Pending();
+            pending.put(achievementId, entry);
+        }
+        return entry;
+    }
+
+    // Must be called while holding the pending lock.
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the results of the entries of a single "batch" call.
+ *
+ * Every entry of the batch is dispatched with its own {@link EntryContext}. Instead of
+ * crossing the bridge, each entry result is stored in its slot and the aggregated array
+ * is sent through the batch callback once the last entry has completed.
+ */
+final class BatchCallbackContext {
+
+    private final CallbackContext batchContext;
+    private final JSONObject[] results;
+    private final AtomicInteger pending;
+
+    BatchCallbackContext(CallbackContext batchContext, int size) {
+        this.batchContext = batchContext;
+        this.results = new JSONObject[size];
+        this.pending = new AtomicInteger(size);
+        if (size == 0) {
+            batchContext.success(new JSONArray());
+        }
+    }
+
+    CallbackContext entry(int index, String action) {
+        return new EntryContext(index, action, batchContext);
+    }
+
+    // Records a failure for entries that could not be dispatched at all.
+    void fail(int index, String action, String message) {
+        try {
+            JSONObject error = new JSONObject();
+            error.put("message", message);
+            complete(index, action, false, error);
+        } catch (JSONException e) {
+            complete(index, action, false, JSONObject.NULL);
+        }
+    }
+
+    private void complete(int index, String action, boolean success, Object value) {
+        JSONObject entry = new JSONObject();
+        try {
+            entry.put("action", action);
+            entry.put("success", success);
+            entry.put(success ? "result" : "error", value);
+        } catch (JSONException ignored) { }
+
+        synchronized (results) {
+            if (results[index] != null) return;
+            results[index] = entry;
+        }
+
+        if (pending.decrementAndGet() == 0) {
+            JSONArray aggregated = new JSONArray();
+            for (JSONObject result : results) {
+                aggregated.put(result);
+            }
+            batchContext.success(aggregated);
+        }
+    }
+
+    private static Object decode(PluginResult result) {
+        String message = result.getMessage();
+        if (message == null || result.getMessageType() == PluginResult.MESSAGE_TYPE_NULL) {
+            return JSONObject.NULL;
+        }
+        if (result.getMessageType() == PluginResult.MESSAGE_TYPE_STRING) {
+            return result.getStrMessage();
+        }
+        try {
+            return new JSONTokener(message).nextValue();
+        } catch (JSONException e) {
+            return message;
+        }
+    }
+
+    private final class EntryContext extends CallbackContext {
+
+        private final int index;
+        private final String action;
+
+        EntryContext(int index, String action, CallbackContext batchContext) {
+            super(batchContext.getCallbackId(), null);
+            this.index = index;
+            this.action = action;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            // Intermediate (keep-alive) results are not part of the aggregated answer.
+            if (pluginResult.getKeepCallback()) return;
+            boolean success = pluginResult.getStatus() == PluginResult.Status.OK.ordinal();
+            complete(index, action, success, decode(pluginResult));
+        }
+    }
+}
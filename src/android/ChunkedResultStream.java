@@ -0,0 +1,91 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Sends a large result set to JS in fixed-size chunks while its buffer is being iterated.
+ *
+ * Each chunk is a {@code {items, done}} object delivered through a kept-alive callback, so
+ * neither side ever holds the whole result as one string. The final chunk, possibly empty,
+ * carries {@code done: true}. Header fields, such as the leaderboard of a score list, are
+ * only sent with the first chunk.
+ */
+final class ChunkedResultStream {
+
+    static final int DEFAULT_CHUNK_SIZE = 25;
+
+    private final CallbackContext callbackContext;
+    private final int chunkSize;
+    private JSONObject header = new JSONObject();
+    private JSONArray items = new JSONArray();
+
+    ChunkedResultStream(CallbackContext callbackContext, int chunkSize) {
+        this.callbackContext = callbackContext;
+        this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Returns a stream if the options ask for streaming, or null for a single result.
+     */
+    static ChunkedResultStream from(JSONObject options, CallbackContext callbackContext) {
+        if (options == null || !options.optBoolean("stream", false)) return null;
+        return new ChunkedResultStream(callbackContext, options.optInt("chunkSize", DEFAULT_CHUNK_SIZE));
+    }
+
+    void header(String key, Object value) throws JSONException {
+        if (header != null) {
+            header.put(key, value);
+        }
+    }
+
+    void add(Object item) throws JSONException {
+        items.put(item);
+        if (items.length() >= chunkSize) {
+            send(false);
+        }
+    }
+
+    void addAll(JSONArray array) throws JSONException {
+        for (int i = 0; i < array.length(); i++) {
+            add(array.get(i));
+        }
+    }
+
+    void finish() throws JSONException {
+        send(true);
+    }
+
+    private void send(boolean done) throws JSONException {
+        JSONObject chunk = header != null ? header : new JSONObject();
+        header = null;
+        chunk.put("items", items);
+        chunk.put("done", done);
+        items = new JSONArray();
+
+        PluginResult result = new PluginResult(PluginResult.Status.OK, chunk);
+        result.setKeepCallback(!done);
+        callbackContext.sendPluginResult(result);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a list of objects column by column, so property names are sent once per list
+ * instead of once per row.
+ *
+ * Nested objects are flattened into dotted column names, such as
+ * {@code "scoreHolder.displayName"}. Columns that hold strings store indexes into one shared
+ * string table, so repeated values like player names and image URIs are sent once. A row
+ * without a property has null in that column. The result is written as
+ * {@code {format: "columnar", count, columns, stringColumns, strings}}.
+ *
+ * Rows are added as {@code JSONObject}s, or written straight into the columns through
+ * {@link #row()} by the same converter that writes them as text.
+ */
+final class ColumnarEncoder {
+
+    static final String FORMAT = "columnar";
+
+    private static final class Column {
+        final List<Object> values = new ArrayList<>();
+        boolean strings = false;
+    }
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final RowSink rowSink = new RowSink();
+    private int count = 0;
+
+    /**
+     * Returns true if the options ask for the columnar format.
+     */
+    static boolean requested(JSONObject options) {
+        return options != null && options.optBoolean(FORMAT, false);
+    }
+
+    void addRow(JSONObject row) {
+        flatten("", row);
+        endRow();
+    }
+
+    /**
+     * Returns a sink that adds the object written to it as the next row. Arrays cannot be
+     * written into a row.
+     */
+    JsonSink row() {
+        return rowSink;
+    }
+
+    void addRows(JSONArray rows) throws JSONException {
+        for (int i = 0; i < rows.length(); i++) {
+            addRow(rows.getJSONObject(i));
+        }
+    }
+
+    String toJson() {
+        JsonWriter writer = JsonWriter.obtain();
+        write(writer);
+        return writer.toString();
+    }
+
+    void write(JsonWriter writer) {
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+
+        writer.beginObject()
+                .name("format").value(FORMAT)
+                .name("count").value(count)
+                .name("columns").beginObject();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            writer.name(entry.getKey()).beginArray();
+            for (Object value : column.values) {
+                if (value == null) {
+                    writer.nullValue();
+                } else if (column.strings) {
+                    String text = value.toString();
+                    Integer index = stringIndex.get(text);
+                    if (index == null) {
+                        index = strings.size();
+                        stringIndex.put(text, index);
+                        strings.add(text);
+                    }
+                    writer.value(index);
+                } else if (value instanceof Boolean) {
+                    writer.value((Boolean) value);
+                } else if (value instanceof Integer || value instanceof Long) {
+                    writer.value(((Number) value).longValue());
+                } else {
+                    writer.value(((Number) value).doubleValue());
+                }
+            }
+            writer.endArray();
+        }
+        writer.endObject().name("stringColumns").beginArray();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            if (entry.getValue().strings) {
+                writer.value(entry.getKey());
+            }
+        }
+        writer.endArray().name("strings").beginArray();
+        for (String text : strings) {
+            writer.value(text);
+        }
+        writer.endArray().endObject();
+    }
+
+    private void endRow() {
+        count++;
+        for (Column column : columns.values()) {
+            while (column.values.size() < count) {
+                column.values.add(null);
+            }
+        }
+    }
+
+    private void flatten(String prefix, JSONObject object) {
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = object.opt(key);
+            if (value instanceof JSONObject) {
+                flatten(prefix + key + ".", (JSONObject) value);
+                continue;
+            }
+            put(prefix + key, value);
+        }
+    }
+
+    private void put(String name, Object value) {
+        Column column = columns.get(name);
+        if (column == null) {
+            column = new Column();
+            columns.put(name, column);
+            for (int i = 0; i < count; i++) {
+                column.values.add(null);
+            }
+        }
+        if (value == null || value == JSONObject.NULL) {
+            value = null;
+        } else if (!(value instanceof Number) && !(value instanceof Boolean)) {
+            // Strings, and anything else that has no column type, go to the string table.
+            column.strings = true;
+        }
+        column.values.add(value);
+    }
+
+    // Flattens one written object into the columns, as flatten does for a JSONObject.
+    private final class RowSink implements JsonSink {
+
+        // Column name prefix of each open object; the row itself has none.
+        private final List<String> prefixes = new ArrayList<>();
+        private String pendingName;
+
+        @Override
+        public JsonSink beginObject() {
+            if (prefixes.isEmpty()) {
+                prefixes.add("");
+            } else {
+                prefixes.add(column() + ".");
+            }
+            return this;
+        }
+
+        @Override
+        public JsonSink endObject() {
+            prefixes.remove(prefixes.size() - 1);
+            if (prefixes.isEmpty()) {
+                endRow();
+            }
+            return this;
+        }
+
+        @Override
+        public JsonSink beginArray() {
+            throw new IllegalStateException("Columnar rows cannot hold arrays.");
+        }
+
+        @Override
+        public JsonSink endArray() {
+            throw new IllegalStateException("Columnar rows cannot hold arrays.");
+        }
+
+        @Override
+        public JsonSink name(String name) {
+            pendingName = name;
+            return this;
+        }
+
+        @Override
+        public JsonSink value(String value) {
+            return value == null ? nullValue() : add(value);
+        }
+
+        @Override
+        public JsonSink value(long value) {
+            return add(value);
+        }
+
+        @Override
+        public JsonSink value(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("Numbers must be finite in JSON: " + value);
+            }
+            return add(value);
+        }
+
+        @Override
+        public JsonSink value(boolean value) {
+            return add(value);
+        }
+
+        @Override
+        public JsonSink nullValue() {
+            // A missing member already reads as null in its column.
+            pendingName = null;
+            return this;
+        }
+
+        private JsonSink add(Object value) {
+            put(column(), value);
+            return this;
+        }
+
+        private String column() {
+            String name = pendingName;
+            pendingName = null;
+            if (prefixes.isEmpty() || name == null) {
+                throw new IllegalStateException("Columnar rows hold only named members of an object.");
+            }
+            String prefix = prefixes.get(prefixes.size() - 1);
+            return prefix.isEmpty() ? name : prefix + name;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, striped aggregation of event increments.
+ *
+ * Each event id owns a {@link LongAdder}, so increments from any thread are absorbed in O(1)
+ * and, once the counter exists, without allocating. The summed deltas are sent on a single
+ * scheduled flush.
+ */
+final class EventCounterAggregator {
+
+    interface Sink {
+        void increment(String eventId, int amount);
+    }
+
+    private final Sink sink;
+    private final ScheduledExecutorService scheduler;
+    private final long flushIntervalMs;
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            flush();
+        }
+    };
+
+    EventCounterAggregator(Sink sink, ScheduledExecutorService scheduler, long flushIntervalMs) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    boolean isEnabled() {
+        return flushIntervalMs > 0;
+    }
+
+    void increment(String eventId, int amount) {
+        LongAdder counter = counters.get(eventId);
+        if (counter == null) {
+            LongAdder created = new LongAdder();
+            counter = counters.putIfAbsent(eventId, created);
+            if (counter == null) counter = created;
+        }
+        counter.add(amount);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(flushTask, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the increments for the event that have not been flushed yet.
+     */
+    long pending(String eventId) {
+        LongAdder counter = counters.get(eventId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Sends the summed deltas of every event right away.
+     */
+    void flush() {
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            LongAdder counter = entry.getValue();
+            // Subtract what was read instead of resetting, so increments that race the
+            // flush stay in the counter for the next one.
+            long delta = counter.sum();
+            if (delta == 0) continue;
+            counter.add(-delta);
+            while (delta != 0) {
+                int chunk = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, delta));
+                sink.increment(entry.getKey(), chunk);
+                delta -= chunk;
+            }
+        }
+    }
+}
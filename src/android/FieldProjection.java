@@ -0,0 +1,116 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The subset of properties a list action should return for each item, from its
+ * {@code fields} option.
+ *
+ * Fields are property names, such as {@code "rank"}, or dotted paths into a nested object,
+ * such as {@code "scoreHolder.displayName"}. A nested object named without a path is
+ * returned whole. A null projection means every field, so converters check fields with
+ * {@link #includes(FieldProjection, String)} and skip the work for the ones left out.
+ */
+final class FieldProjection {
+
+    // Maps each requested field to its nested projection, or null if it is requested whole.
+    private final Map<String, FieldProjection> fields = new HashMap<>();
+
+    private FieldProjection() {
+    }
+
+    /**
+     * Returns the projection for the options' {@code fields} array, or null if there is none.
+     */
+    @Nullable
+    static FieldProjection from(@Nullable JSONObject options) throws JSONException {
+        JSONArray names = options != null ? options.optJSONArray("fields") : null;
+        if (names == null || names.length() == 0) return null;
+        FieldProjection projection = new FieldProjection();
+        for (int i = 0; i < names.length(); i++) {
+            projection.add(names.getString(i));
+        }
+        return projection;
+    }
+
+    static boolean includes(@Nullable FieldProjection projection, String field) {
+        return projection == null || projection.fields.containsKey(field);
+    }
+
+    /**
+     * Returns the projection for a nested object, or null if it is requested whole.
+     */
+    @Nullable
+    static FieldProjection nested(@Nullable FieldProjection projection, String field) {
+        return projection != null ? projection.fields.get(field) : null;
+    }
+
+    /**
+     * Copies only the requested fields, for items that are cached with every field.
+     */
+    static JSONObject apply(@Nullable FieldProjection projection, JSONObject source) throws JSONException {
+        if (projection == null || source == null) return source;
+        JSONObject result = new JSONObject();
+        for (Map.Entry<String, FieldProjection> field : projection.fields.entrySet()) {
+            Object value = source.opt(field.getKey());
+            if (value == null) continue;
+            if (field.getValue() != null && value instanceof JSONObject) {
+                value = apply(field.getValue(), (JSONObject) value);
+            }
+            result.put(field.getKey(), value);
+        }
+        return result;
+    }
+
+    static JSONArray apply(@Nullable FieldProjection projection, JSONArray source) throws JSONException {
+        if (projection == null) return source;
+        JSONArray result = new JSONArray();
+        for (int i = 0; i < source.length(); i++) {
+            result.put(apply(projection, source.getJSONObject(i)));
+        }
+        return result;
+    }
+
+    private void add(String path) {
+        int dot = path.indexOf('.');
+        String field = dot < 0 ? path : path.substring(0, dot);
+        if (dot < 0) {
+            // The whole object wins over any paths into it.
+            fields.put(field, null);
+            return;
+        }
+        if (fields.containsKey(field) && fields.get(field) == null) return;
+        FieldProjection nested = fields.get(field);
+        if (nested == null) {
+            nested = new FieldProjection();
+            fields.put(field, nested);
+        }
+        nested.add(path.substring(dot + 1));
+    }
+}
@@ -19,6 +19,7 @@
 package com.exelerus.cordova.plugin;
 
 import android.content.Intent;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -54,19 +55,40 @@ import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 
 import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaArgs;
 import org.apache.cordova.CordovaInterface;
 import org.apache.cordova.CordovaPlugin;
 import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.android.gms.games.achievement.Achievement;
 import com.google.android.gms.games.achievement.AchievementBuffer;
+import com.google.android.gms.games.LeaderboardsClient;
 import com.google.android.gms.games.LeaderboardsClient.LeaderboardScores;
 
 public class GPGS extends CordovaPlugin {
@@ -85,20 +107,193 @@ public class GPGS extends CordovaPlugin {
     private static final String EVENT_SIGN_IN = "gpgs.signin";
     private static final String EVENT_SIGN_OUT = "gpgs.signout";
     private static final String EVENT_AVAILABILITY = "gpgs.availability";
+    private static final String EVENT_SNAPSHOT_UPDATED = "gpgs.snapshotupdated";
+    private static final String EVENT_SNAPSHOT_CONFLICT = "gpgs.snapshotconflict";
 
     private static final int ERROR_CODE_HAS_RESOLUTION = 1;
     private static final int ERROR_CODE_NO_RESOLUTION = 2;
+    private static final long OUTBOX_REPLAY_TIMEOUT_MS = 30000;
+    private static final long OUTBOX_RETRY_DELAY_MS = 5000;
+    private static final long PLAYER_ID_TIMEOUT_MS = 10000;
+
+    private static final String PREF_ACHIEVEMENT_FLUSH_INTERVAL = "GPGS_ACHIEVEMENT_FLUSH_INTERVAL";
+    private static final int DEFAULT_ACHIEVEMENT_FLUSH_INTERVAL_MS = 1000;
+    private static final String PREF_SCORE_SUBMIT_WINDOW = "GPGS_SCORE_SUBMIT_WINDOW";
+    private static final int DEFAULT_SCORE_SUBMIT_WINDOW_MS = 1000;
+    private static final String PREF_EVENT_FLUSH_INTERVAL = "GPGS_EVENT_FLUSH_INTERVAL";
+    private static final int DEFAULT_EVENT_FLUSH_INTERVAL_MS = 5000;
+    private static final String PREF_ACHIEVEMENT_CACHE_TTL = "GPGS_ACHIEVEMENT_CACHE_TTL";
+    private static final int DEFAULT_ACHIEVEMENT_CACHE_TTL_MS = 60000;
+    private static final String PREF_LEADERBOARD_CACHE_SIZE = "GPGS_LEADERBOARD_CACHE_SIZE";
+    private static final int DEFAULT_LEADERBOARD_CACHE_SIZE = 100;
+    private static final String PREF_PLAYER_CACHE_TTL = "GPGS_PLAYER_CACHE_TTL";
+    private static final int DEFAULT_PLAYER_CACHE_TTL_MS = 300000;
+    private static final int PLAYER_CACHE_SIZE = 200;
+    private static final String PREF_READ_CONCURRENCY = "GPGS_READ_CONCURRENCY";
+    private static final int DEFAULT_READ_CONCURRENCY = 2;
+    private static final String PREF_WRITE_CONCURRENCY = "GPGS_WRITE_CONCURRENCY";
+    private static final int DEFAULT_WRITE_CONCURRENCY = 1;
+    private static final String PREF_QUEUE_CAPACITY = "GPGS_QUEUE_CAPACITY";
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final String PREF_STRICT_THREADING = "GPGS_STRICT_THREADING";
+    private static final String PREF_SNAPSHOT_COMPRESSION = "GPGS_SNAPSHOT_COMPRESSION";
+    private static final String PREF_SAVE_DEBOUNCE_INTERVAL = "GPGS_SAVE_DEBOUNCE_INTERVAL";
+    private static final int DEFAULT_SAVE_DEBOUNCE_INTERVAL_MS = 0;
+    private static final String PREF_SNAPSHOT_MIRROR = "GPGS_SNAPSHOT_MIRROR";
+    private static final String PREF_SNAPSHOT_CONFLICT_POLICY = "GPGS_SNAPSHOT_CONFLICT_POLICY";
+    private static final int DEFAULT_LOAD_GAMES_CONCURRENCY = 4;
+    private static final String PREF_SNAPSHOT_SESSION_TIMEOUT = "GPGS_SNAPSHOT_SESSION_TIMEOUT";
+    private static final int DEFAULT_SNAPSHOT_SESSION_TIMEOUT_MS = 120000;
 
     private CordovaWebView cordovaWebView;
-    private boolean wasSignedIn = false;
+    private volatile boolean wasSignedIn = false;
+    private final AtomicBoolean outboxReplayScheduled = new AtomicBoolean();
+    // Looked up once per sign-in; cleared with the other per-player state.
+    private volatile String cachedPlayerId;
+
+    private ScheduledExecutorService scheduler;
+    private PluginExecutor executor;
+    private Executor callbackExecutor;
+    private boolean strictThreading = false;
+    private byte snapshotCodec = SnapshotCodec.CODEC_NONE;
+    private AchievementWriteQueue achievementWriteQueue;
+    private ScoreSubmitCoalescer scoreSubmitCoalescer;
+    private EventCounterAggregator eventCounterAggregator;
+    private AchievementCache achievementCache;
+    private LeaderboardMetadataCache leaderboardMetadataCache;
+    private LeaderboardScorePager leaderboardScorePager;
+    private PlayerCache playerCache;
+    private SaveDebouncer saveDebouncer;
+    @Nullable
+    private SnapshotMirror snapshotMirror;
+    private SnapshotConflictResolver snapshotConflictResolver;
+    private SnapshotSessionRegistry snapshotSessions;
+    private final InFlightReads inFlightReads = new InFlightReads();
+    private OutboxJournal outboxJournal;
 
     @Override
     public void initialize(CordovaInterface cordova, CordovaWebView webView) {
         super.initialize(cordova, webView);
         cordovaWebView = webView;
 
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        executor = new PluginExecutor(
+                preferences.getInteger(PREF_READ_CONCURRENCY, DEFAULT_READ_CONCURRENCY),
+                preferences.getInteger(PREF_WRITE_CONCURRENCY, DEFAULT_WRITE_CONCURRENCY),
+                preferences.getInteger(PREF_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY));
+        callbackExecutor = executor.callbackExecutor();
+        strictThreading = preferences.getBoolean(PREF_STRICT_THREADING, false);
+        snapshotCodec = preferences.getBoolean(PREF_SNAPSHOT_COMPRESSION, false) ? SnapshotCodec.CODEC_DEFLATE : SnapshotCodec.CODEC_NONE;
+        outboxJournal = new OutboxJournal(new File(cordova.getActivity().getFilesDir(), "gpgs-outbox.journal"));
+        if (preferences.getBoolean(PREF_SNAPSHOT_MIRROR, false)) {
+            snapshotMirror = new SnapshotMirror(new File(cordova.getActivity().getFilesDir(), "gpgs-snapshots"));
+        }
+        achievementWriteQueue = new AchievementWriteQueue(new AchievementWriteQueue.Sink() {
+            @Override
+            public void increment(String achievementId, int numSteps) {
+                deliverWrite(OutboxJournal.TYPE_INCREMENT_ACHIEVEMENT, achievementId, numSteps);
+            }
+
+            @Override
+            public void setSteps(String achievementId, int numSteps) {
+                deliverWrite(OutboxJournal.TYPE_SET_STEPS_IN_ACHIEVEMENT, achievementId, numSteps);
+            }
+        }, scheduler, preferences.getInteger(PREF_ACHIEVEMENT_FLUSH_INTERVAL, DEFAULT_ACHIEVEMENT_FLUSH_INTERVAL_MS));
+        scoreSubmitCoalescer = new ScoreSubmitCoalescer(new ScoreSubmitCoalescer.Sink() {
+            @Override
+            public void submitScore(String leaderboardId, long score) {
+                deliverWrite(OutboxJournal.TYPE_SUBMIT_SCORE, leaderboardId, score);
+            }
+
+            @Override
+            public void loadBest(String leaderboardId) {
+                loadScoreFloor(leaderboardId);
+            }
+        }, scheduler, preferences.getInteger(PREF_SCORE_SUBMIT_WINDOW, DEFAULT_SCORE_SUBMIT_WINDOW_MS));
+        eventCounterAggregator = new EventCounterAggregator(new EventCounterAggregator.Sink() {
+            @Override
+            public void increment(String eventId, int amount) {
+                deliverWrite(OutboxJournal.TYPE_INCREMENT_EVENT, eventId, amount);
+            }
+        }, scheduler, preferences.getInteger(PREF_EVENT_FLUSH_INTERVAL, DEFAULT_EVENT_FLUSH_INTERVAL_MS));
+        saveDebouncer = new SaveDebouncer(new SaveDebouncer.Sink() {
+            @Override
+            public void write(final String snapshotName, final SnapshotMetadataChange metadataChange, final byte[] data, final SaveDebouncer.Completion done) {
+                Runnable task = new Runnable() {
+                    @Override
+                    public void run() {
+                        final String playerId = snapshotMirror != null ? currentPlayerId() : null;
+                        final SaveDebouncer.Completion completion = playerId == null ? done : new SaveDebouncer.Completion() {
+                            @Override
+                            public void onComplete(Exception error) {
+                                if (error == null) {
+                                    snapshotMirror.markCommitted(playerId, snapshotName, data);
+                                } else {
+                                    snapshotMirror.discardPending(playerId, snapshotName, data);
+                                }
+                                done.onComplete(error);
+                            }
+                        };
+                        try {
+                            writeSnapshot(snapshotName, metadataChange, data, completion);
+                        } catch (RuntimeException e) {
+                            // The debouncer waits for every commit to complete, even a failed one.
+                            completion.onComplete(e);
+                        }
+                    }
+                };
+                try {
+                    executor.execute(PluginExecutor.Lane.WRITE, task);
+                } catch (final RejectedExecutionException e) {
+                    if (snapshotMirror == null) {
+                        done.onComplete(e);
+                        return;
+                    }
+                    // The player is looked up off the calling thread, which may be the main thread.
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            String playerId = currentPlayerId();
+                            if (playerId != null) {
+                                snapshotMirror.discardPending(playerId, snapshotName, data);
+                            }
+                            done.onComplete(e);
+                        }
+                    });
+                }
+            }
+        }, scheduler, preferences.getInteger(PREF_SAVE_DEBOUNCE_INTERVAL, DEFAULT_SAVE_DEBOUNCE_INTERVAL_MS));
+        snapshotConflictResolver = new SnapshotConflictResolver(
+                SnapshotConflictResolver.Policy.fromName(preferences.getString(PREF_SNAPSHOT_CONFLICT_POLICY, "mostRecent")),
+                callbackExecutor, scheduler, new SnapshotConflictResolver.MergeHandler() {
+            @Override
+            public boolean requestMerge(String conflictId, String snapshotName, SnapshotsClient.SnapshotConflict conflict) {
+                return emitSnapshotConflictEvent(conflictId, snapshotName, conflict);
+            }
+        });
+        snapshotSessions = new SnapshotSessionRegistry(new SnapshotSessionRegistry.Closer() {
+            @Override
+            public void discard(Snapshot snapshot) {
+                PlayGames.getSnapshotsClient(cordova.getActivity()).discardAndClose(snapshot);
+            }
+        }, scheduler, preferences.getInteger(PREF_SNAPSHOT_SESSION_TIMEOUT, DEFAULT_SNAPSHOT_SESSION_TIMEOUT_MS));
+        achievementCache = new AchievementCache(preferences.getInteger(PREF_ACHIEVEMENT_CACHE_TTL, DEFAULT_ACHIEVEMENT_CACHE_TTL_MS));
+        leaderboardMetadataCache = new LeaderboardMetadataCache(preferences.getInteger(PREF_LEADERBOARD_CACHE_SIZE, DEFAULT_LEADERBOARD_CACHE_SIZE));
+        playerCache = new PlayerCache(PLAYER_CACHE_SIZE, preferences.getInteger(PREF_PLAYER_CACHE_TTL, DEFAULT_PLAYER_CACHE_TTL_MS), callbackExecutor);
+        leaderboardScorePager = new LeaderboardScorePager(new LeaderboardScorePager.Converter() {
+            @Override
+            public JSONObject convertLeaderboard(Leaderboard leaderboard) throws JSONException {
+                return convertLeaderboardToJson(leaderboard);
+            }
+
+            @Override
+            public JSONObject convertScore(LeaderboardScore score) throws JSONException {
+                return convertLeaderboardScoreToJson(score, null);
+            }
+        }, callbackExecutor, scheduler);
+
         // Initialize the SDK
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, null, new Runnable() {
             @Override
             public void run() {
                 try {
@@ -106,14 +301,16 @@ public class GPGS extends CordovaPlugin {
 
                     // Check if signed in
                     GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                    gamesSignInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                    gamesSignInClient.isAuthenticated().addOnCompleteListener(callbackExecutor, new OnCompleteListener<AuthenticationResult>() {
                         @Override
                         public void onComplete(@NonNull Task<AuthenticationResult> task) {
                             if (task.isSuccessful()) {
                                 boolean isAuthenticated = task.getResult().isAuthenticated();
                                 if (isAuthenticated) {
                                     wasSignedIn = true;
+                                    clearPlayerCaches();
                                     emitSignInEvent(true);
+                                    replayOutbox();
                                     debugLog("GPGS - Already signed in.");
                                 } else {
                                     wasSignedIn = false;
@@ -138,21 +335,25 @@ public class GPGS extends CordovaPlugin {
     public void onResume(boolean multitasking) {
         super.onResume(multitasking);
         // Try to sign in silently on resume.
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, null, new Runnable() {
             @Override
             public void run() {
                 GamesSignInClient signInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                signInClient.isAuthenticated().addOnCompleteListener(callbackExecutor, new OnCompleteListener<AuthenticationResult>() {
                     @Override
                     public void onComplete(@NonNull Task<AuthenticationResult> task) {
                         if (task.isSuccessful()) {
                             boolean isAuthenticated = task.getResult().isAuthenticated();
                             if (!wasSignedIn && isAuthenticated) {
                                 wasSignedIn = true;
+                                clearPlayerCaches();
                                 emitSignInEvent(true);
+                                replayOutbox();
                                 debugLog("GPGS - Signed in on resume.");
                             } else if (wasSignedIn && !isAuthenticated) {
                                 wasSignedIn = false;
+                                clearPlayerCaches();
+                                snapshotSessions.clear();
                                 emitSignOutEvent("background_signout");
                                 debugLog("GPGS - Signed out on resume.");
                             }
@@ -165,10 +366,102 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
+    @Override
+    public void onPause(boolean multitasking) {
+        super.onPause(multitasking);
+        // Do not keep queued progress in memory while the app may be killed.
+        flushPendingWrites();
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        flushPendingWrites();
+    }
+
+    @Override
+    public void onDestroy() {
+        snapshotSessions.clear();
+        try {
+            // The lanes and the journal are closed only after the last flush has reached them.
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushPendingWritesNow();
+                    executor.shutdown();
+                    outboxJournal.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            executor.shutdown();
+            outboxJournal.close();
+        }
+        scheduler.shutdown();
+        super.onDestroy();
+    }
+
+    // Lifecycle callbacks run on the main thread, and a flush while signed out appends to the
+    // outbox journal, which forces it to disk. The flush therefore runs on the scheduler.
+    private void flushPendingWrites() {
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushPendingWritesNow();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            handleError(e, null);
+        }
+    }
+
+    private void flushPendingWritesNow() {
+        try {
+            achievementWriteQueue.flush();
+            scoreSubmitCoalescer.flush();
+            eventCounterAggregator.flush();
+            saveDebouncer.flush();
+        } catch (Exception e) {
+            handleError(e, null);
+        }
+    }
+
     @Override
     public boolean execute(String action, JSONArray args, final CallbackContext callbackContext) throws JSONException {
         debugLog("Executing action: " + action);
 
+        if (inFlightReads.isRead(action)) {
+            CallbackContext shared = inFlightReads.attach(action, args, callbackContext);
+            if (shared == null) {
+                debugLog("Attached to in-flight action: " + action);
+                return true;
+            }
+            boolean dispatched = false;
+            try {
+                dispatched = dispatch(action, args, shared);
+                return dispatched;
+            } catch (JSONException e) {
+                // Release the in-flight slot the same way Cordova reports bad arguments.
+                shared.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                dispatched = true;
+                return true;
+            } catch (RuntimeException e) {
+                // Settled here only: rethrowing would make Cordova answer the first caller a second time.
+                handleError(e, shared);
+                dispatched = true;
+                return true;
+            } finally {
+                if (!dispatched) {
+                    // The read threw or wasn't handled. Settling it releases the in-flight slot,
+                    // so later identical reads don't wait for a result that never comes.
+                    shared.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, "Action failed: " + action));
+                }
+            }
+        }
+        return dispatch(action, args, callbackContext);
+    }
+
+    private boolean dispatch(String action, JSONArray args, final CallbackContext callbackContext) throws JSONException {
         if (action.equals("isGooglePlayServicesAvailable")) {
             this.isGooglePlayServicesAvailableAction(callbackContext);
             return true;
@@ -207,7 +500,7 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("loadAchievements")) {
-            this.loadAchievementsAction(args.getBoolean(0), callbackContext);
+            this.loadAchievementsAction(args.getBoolean(0), args.optJSONObject(1), callbackContext);
             return true;
         }
 
@@ -232,12 +525,12 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("loadTopScores")) {
-            this.loadTopScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), callbackContext);
+            this.loadTopScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), args.optJSONObject(4), callbackContext);
             return true;
         }
 
         else if (action.equals("loadPlayerCenteredScores")) {
-            this.loadPlayerCenteredScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), callbackContext);
+            this.loadPlayerCenteredScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), args.optJSONObject(4), callbackContext);
             return true;
         }
 
@@ -250,18 +543,95 @@ public class GPGS extends CordovaPlugin {
             return true;
         }
 
+        else if (action.equals("openScores")) {
+            this.openScoresAction(args.getString(0), args.getInt(1), args.getInt(2), args.getInt(3), args.optBoolean(4, false), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("nextPage")) {
+            this.movePageAction(args.getInt(0), true, callbackContext);
+            return true;
+        }
+
+        else if (action.equals("prevPage")) {
+            this.movePageAction(args.getInt(0), false, callbackContext);
+            return true;
+        }
+
+        else if (action.equals("closeScores")) {
+            this.leaderboardScorePager.close(args.getInt(0));
+            callbackContext.success();
+            return true;
+        }
+
+        else if (action.equals("invalidateLeaderboardMetadata")) {
+            leaderboardMetadataCache.invalidate(args.length() > 0 && !args.isNull(0) ? args.getString(0) : null);
+            callbackContext.success();
+            return true;
+        }
+
         else if (action.equals("showSavedGames")) {
             this.showSavedGamesAction(args.getString(0), args.getBoolean(1), args.getBoolean(2), args.getInt(3), callbackContext);
             return true;
         }
 
         else if (action.equals("saveGame")) {
-            this.saveGameAction(args.getString(0), args.getString(1), args.getJSONObject(2), callbackContext);
+            // The JS wrapper sends the data already serialized; a JSON object is still accepted.
+            this.saveGameAction(args.getString(0), snapshotMetadataChange(args.getString(1), args.optJSONObject(3)), args.get(2), callbackContext);
             return true;
         }
 
         else if (action.equals("loadGameSave")) {
-            this.loadGameSaveAction(args.getString(0), callbackContext);
+            JSONObject options = args.optJSONObject(1);
+            this.loadGameSaveAction(args.getString(0), options != null && options.optBoolean("passthrough", false), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("saveGameBinary")) {
+            this.saveGameBinaryAction(args.getString(0), snapshotMetadataChange(args.getString(1), args.optJSONObject(3)),
+                    new CordovaArgs(args).getArrayBuffer(2), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("resolveSnapshotConflict")) {
+            this.resolveSnapshotConflictAction(args.getString(0), args.get(1), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("openSnapshotSession")) {
+            this.openSnapshotSessionAction(args.getString(0), args.optBoolean(1, true), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("writeSession")) {
+            boolean binary = args.optBoolean(2, false);
+            byte[] data = binary ? new CordovaArgs(args).getArrayBuffer(1) : args.getString(1).getBytes(StandardCharsets.UTF_8);
+            this.writeSessionAction(args.getInt(0), data, callbackContext);
+            return true;
+        }
+
+        else if (action.equals("readSession")) {
+            this.readSessionAction(args.getInt(0), args.optBoolean(1, false), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("commitSession")) {
+            this.commitSessionAction(args.getInt(0), snapshotMetadataChange(args.isNull(1) ? null : args.getString(1), args.optJSONObject(2)), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("discardSession")) {
+            this.discardSessionAction(args.getInt(0), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("loadGames")) {
+            this.loadGamesAction(args.getJSONArray(0), args.optInt(1, DEFAULT_LOAD_GAMES_CONCURRENCY), callbackContext);
+            return true;
+        }
+
+        else if (action.equals("loadGameBinary")) {
+            this.loadGameBinaryAction(args.getString(0), callbackContext);
             return true;
         }
 
@@ -271,12 +641,16 @@ public class GPGS extends CordovaPlugin {
         }
 
         else if (action.equals("loadAllSnapshots")) {
-            this.loadAllSnapshotsAction(args.getBoolean(0), callbackContext);
+            this.loadAllSnapshotsAction(args.getBoolean(0), args.optJSONObject(1), callbackContext);
             return true;
         }
 
         else if (action.equals("getFriendsList")) {
-            this.getFriendsListAction(callbackContext);
+            // Without arguments this is the original single page of up to 100 friends.
+            int pageSize = args.length() > 0 && !args.isNull(0) ? args.getInt(0) : 100;
+            int maxTotal = args.length() > 1 && !args.isNull(1) ? args.getInt(1) : (args.length() > 0 ? 0 : 100);
+            this.getFriendsListAction(Math.max(1, pageSize), maxTotal, args.length() > 2 && args.getBoolean(2),
+                    FieldProjection.from(args.optJSONObject(3)), callbackContext);
             return true;
         }
 
@@ -315,9 +689,55 @@ public class GPGS extends CordovaPlugin {
             return true;
         }
 
+        else if (action.equals("getPluginStats")) {
+            this.getPluginStatsAction(callbackContext);
+            return true;
+        }
+
+        else if (action.equals("batch")) {
+            this.batchAction(args.getJSONArray(0), callbackContext);
+            return true;
+        }
+
         return false;
     }
 
+    private void getPluginStatsAction(final CallbackContext callbackContext) {
+        try {
+            JSONObject stats = new JSONObject();
+            stats.put("readDeduplication", inFlightReads.stats());
+            stats.put("executor", executor.stats());
+            stats.put("snapshotConflicts", snapshotConflictResolver.stats());
+            stats.put("snapshotSessions", snapshotSessions.stats());
+            callbackContext.success(stats);
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    private void batchAction(JSONArray operations, final CallbackContext callbackContext) {
+        // Dispatch every entry natively and answer with one aggregated result array,
+        // so a burst of calls only costs a single bridge crossing.
+        BatchCallbackContext batch = new BatchCallbackContext(callbackContext, operations.length());
+        for (int i = 0; i < operations.length(); i++) {
+            JSONObject operation = operations.optJSONObject(i);
+            String entryAction = operation != null ? operation.optString("action", "") : "";
+            if (entryAction.isEmpty() || entryAction.equals("batch")) {
+                batch.fail(i, entryAction, "Invalid batch entry.");
+                continue;
+            }
+            JSONArray entryArgs = operation.optJSONArray("args");
+            try {
+                if (!execute(entryAction, entryArgs != null ? entryArgs : new JSONArray(), batch.entry(i, entryAction))) {
+                    batch.fail(i, entryAction, "Unknown action: " + entryAction);
+                }
+            } catch (Exception e) {
+                // Bad arguments or a failing action settle only their own slot, never the whole batch.
+                batch.fail(i, entryAction, e.getMessage());
+            }
+        }
+    }
+
     private void emitWindowEvent(final String event) {
         final CordovaWebView view = this.webView;
         this.cordova.getActivity().runOnUiThread(new Runnable() {
@@ -346,16 +766,18 @@ public class GPGS extends CordovaPlugin {
 
     private void signInSilently() {
         // Sign-in client.
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, null, new Runnable() {
             @Override
             public void run() {
                 GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                gamesSignInClient.signIn().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                gamesSignInClient.signIn().addOnCompleteListener(callbackExecutor, new OnCompleteListener<AuthenticationResult>() {
                     @Override
                     public void onComplete(@NonNull Task<AuthenticationResult> task) {
                         if (task.isSuccessful()) {
                             wasSignedIn = true;
+                            clearPlayerCaches();
                             emitSignInEvent(true);
+                            replayOutbox();
                             debugLog("GPGS - Sign in successful (silently).");
                         } else {
                             Exception e = task.getException();
@@ -381,17 +803,19 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void loginAction(JSONArray args, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 try {
                     GamesSignInClient gamesSignInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                    gamesSignInClient.signIn().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                    gamesSignInClient.signIn().addOnCompleteListener(callbackExecutor, new OnCompleteListener<AuthenticationResult>() {
                         @Override
                         public void onComplete(@NonNull Task<AuthenticationResult> task) {
                             if (task.isSuccessful()) {
                                 wasSignedIn = true;
+                                clearPlayerCaches();
                                 emitSignInEvent(true);
+                                replayOutbox();
                                 callbackContext.success();
                             } else {
                                 handleError(task.getException(), callbackContext);
@@ -406,30 +830,37 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void unlockAchievementAction(String achievementId, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runWrite(OutboxJournal.TYPE_UNLOCK_ACHIEVEMENT, achievementId, 0, callbackContext, new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).unlock(achievementId);
+                if (achievementCache.isUnlocked(achievementId)) {
+                    debugLog("GPGS - Achievement already unlocked: " + achievementId);
+                    callbackContext.success();
+                    return;
+                }
+                deliverWrite(OutboxJournal.TYPE_UNLOCK_ACHIEVEMENT, achievementId, 0);
+                achievementCache.unlock(achievementId);
                 callbackContext.success();
             }
         });
     }
 
     private void incrementAchievementAction(String achievementId, Integer count, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runWrite(OutboxJournal.TYPE_INCREMENT_ACHIEVEMENT, achievementId, count, callbackContext, new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).increment(achievementId, count);
+                achievementWriteQueue.increment(achievementId, count);
+                achievementCache.increment(achievementId, count);
                 callbackContext.success();
             }
         });
     }
 
     private void showAchievementsAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getAchievementsClient(cordova.getActivity())
                         .getAchievementsIntent()
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -437,7 +868,7 @@ public class GPGS extends CordovaPlugin {
                                 callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -448,75 +879,191 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void revealAchievementAction(String achievementId, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
             public void run() {
                 PlayGames.getAchievementsClient(cordova.getActivity()).reveal(achievementId);
+                achievementCache.reveal(achievementId);
                 callbackContext.success();
             }
         });
     }
 
     private void setStepsInAchievementAction(String achievementId, int count, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runWrite(OutboxJournal.TYPE_SET_STEPS_IN_ACHIEVEMENT, achievementId, count, callbackContext, new Runnable() {
             public void run() {
-                PlayGames.getAchievementsClient(cordova.getActivity()).setSteps(achievementId, count);
+                achievementWriteQueue.setSteps(achievementId, count);
+                achievementCache.setSteps(achievementId, count);
                 callbackContext.success();
             }
         });
     }
 
-    private void loadAchievementsAction(boolean forceReload, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    // The cache always holds every field. Cached results are trimmed to the fields option; fresh
+    // results are converted with only those fields while the cache is filled.
+    private void loadAchievementsAction(boolean forceReload, @Nullable JSONObject options, final CallbackContext callbackContext) throws JSONException {
+        final boolean columnar = ColumnarEncoder.requested(options);
+        final ChunkedResultStream stream = columnar ? null : ChunkedResultStream.from(options, callbackContext);
+        final FieldProjection fields = FieldProjection.from(options);
+        if (!forceReload && achievementCache.hasData()) {
+            // Serve from memory right away and revalidate in the background once stale.
+            if (stream != null) {
+                try {
+                    stream.addAll(FieldProjection.apply(fields, achievementCache.snapshot()));
+                    stream.finish();
+                } catch (JSONException e) {
+                    handleError(e, callbackContext);
+                }
+            } else {
+                sendAchievements(achievementCache.snapshot(), fields, columnar, callbackContext);
+            }
+            if (achievementCache.isStale() && achievementCache.beginRefresh()) {
+                refreshAchievements(false, null, null, null, false);
+            }
+            return;
+        }
+        refreshAchievements(forceReload, callbackContext, stream, fields, columnar);
+    }
+
+    private void sendAchievements(JSONArray achievements, @Nullable FieldProjection fields, boolean columnar,
+                                  CallbackContext callbackContext) throws JSONException {
+        JSONArray projected = FieldProjection.apply(fields, achievements);
+        if (!columnar) {
+            callbackContext.success(projected);
+            return;
+        }
+        ColumnarEncoder encoder = new ColumnarEncoder();
+        encoder.addRows(projected);
+        callbackContext.sendPluginResult(new RawJsonPluginResult(encoder.toJson()));
+    }
+
+    // Loads achievements into the cache; without a callback context this is a background revalidation.
+    private void refreshAchievements(boolean forceReload, @Nullable final CallbackContext callbackContext,
+                                     @Nullable final ChunkedResultStream stream, @Nullable final FieldProjection fields,
+                                     final boolean columnar) {
+        boolean scheduled = runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getAchievementsClient(cordova.getActivity())
                         .load(forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<AchievementBuffer>>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<AchievementBuffer>>() {
                             @Override
                             public void onSuccess(AnnotatedData<AchievementBuffer> data) {
                                 AchievementBuffer achievementBuffer = data.get();
                                 if (achievementBuffer == null) {
-                                    callbackContext.success(new JSONArray());
+                                    if (stream != null) {
+                                        try {
+                                            stream.finish();
+                                        } catch (JSONException e) {
+                                            handleError(e, callbackContext);
+                                        }
+                                    } else if (callbackContext != null) {
+                                        try {
+                                            sendAchievements(new JSONArray(), fields, columnar, callbackContext);
+                                        } catch (JSONException e) {
+                                            handleError(e, callbackContext);
+                                        }
+                                    } else {
+                                        achievementCache.endRefresh();
+                                    }
                                     return;
                                 }
                                 try {
+                                    // The cache keeps the full list. The result is converted with only the
+                                    // requested fields in the same pass, and a stream sends it out as it goes.
                                     JSONArray result = new JSONArray();
+                                    boolean send = callbackContext != null && stream == null;
+                                    JsonWriter writer = send && !columnar ? JsonWriter.obtain().beginArray() : null;
+                                    ColumnarEncoder encoder = send && columnar ? new ColumnarEncoder() : null;
                                     for (Achievement achievement : achievementBuffer) {
-                                        result.put(convertAchievementToJson(achievement));
+                                        JSONObject json = convertAchievementToJson(achievement, null);
+                                        result.put(json);
+                                        if (stream != null) {
+                                            stream.add(fields != null ? convertAchievementToJson(achievement, fields) : json);
+                                        } else if (writer != null) {
+                                            writeAchievement(writer, achievement, fields);
+                                        } else if (encoder != null) {
+                                            writeAchievement(encoder.row(), achievement, fields);
+                                        }
                                     }
                                     achievementBuffer.release();
-                                    callbackContext.success(result);
+                                    achievementCache.update(result);
+                                    if (stream != null) {
+                                        stream.finish();
+                                    } else if (writer != null) {
+                                        callbackContext.sendPluginResult(new RawJsonPluginResult(writer.endArray().toString()));
+                                    } else if (encoder != null) {
+                                        callbackContext.sendPluginResult(new RawJsonPluginResult(encoder.toJson()));
+                                    }
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
+                                } finally {
+                                    if (callbackContext == null) {
+                                        achievementCache.endRefresh();
+                                    }
                                 }
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
+                                if (callbackContext == null) {
+                                    achievementCache.endRefresh();
+                                }
                                 handleError(e, callbackContext);
                             }
                         });
             }
         });
+        if (!scheduled && callbackContext == null) {
+            achievementCache.endRefresh();
+        }
     }
 
     private void updatePlayerScoreAction(String leaderboardId, Integer score, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runWrite(OutboxJournal.TYPE_SUBMIT_SCORE, leaderboardId, score, callbackContext, new Runnable() {
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity()).submitScore(leaderboardId, score);
+                scoreSubmitCoalescer.submit(leaderboardId, score);
                 callbackContext.success();
             }
         });
     }
 
+    // Seeds the score coalescer with the leaderboard's score order and the player's score on the
+    // server. Converting the loaded metadata sets the order; failures only leave scores uncoalesced.
+    private void loadScoreFloor(final String leaderboardId) {
+        if (!wasSignedIn) {
+            scoreSubmitCoalescer.forgetBest(leaderboardId);
+            return;
+        }
+        LeaderboardsClient leaderboardsClient = PlayGames.getLeaderboardsClient(cordova.getActivity());
+        if (leaderboardMetadataCache.get(leaderboardId) == null && !leaderboardMetadataCache.isComplete()) {
+            loadAllLeaderboardsIntoCache();
+        }
+        leaderboardsClient
+                .loadCurrentPlayerLeaderboardScore(leaderboardId, LeaderboardVariant.TIME_SPAN_ALL_TIME, LeaderboardVariant.COLLECTION_PUBLIC)
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScore>>() {
+                    @Override
+                    public void onSuccess(AnnotatedData<LeaderboardScore> scoreData) {
+                        if (scoreData != null && scoreData.get() != null) {
+                            scoreSubmitCoalescer.seedBest(leaderboardId, scoreData.get().getRawScore());
+                        }
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        scoreSubmitCoalescer.forgetBest(leaderboardId);
+                    }
+                });
+    }
+
     private void loadPlayerScoreAction(String leaderboardId, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getLeaderboardsClient(cordova.getActivity())
                         .loadCurrentPlayerLeaderboardScore(leaderboardId, LeaderboardVariant.TIME_SPAN_ALL_TIME, LeaderboardVariant.COLLECTION_PUBLIC)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScore>>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScore>>() {
                             @Override
                             public void onSuccess(AnnotatedData<LeaderboardScore> scoreData) {
                                 if (scoreData == null || scoreData.get() == null) {
@@ -534,7 +1081,7 @@ public class GPGS extends CordovaPlugin {
                                 }
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -545,11 +1092,11 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void showLeaderboardAction(String leaderboardId, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             public void run() {
                 PlayGames.getLeaderboardsClient(cordova.getActivity())
                         .getLeaderboardIntent(leaderboardId)
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -557,7 +1104,7 @@ public class GPGS extends CordovaPlugin {
                                 callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -568,12 +1115,12 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void showAllLeaderboardsAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getLeaderboardsClient(cordova.getActivity())
                         .getAllLeaderboardsIntent()
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -581,7 +1128,7 @@ public class GPGS extends CordovaPlugin {
                                 callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -592,12 +1139,12 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void showSavedGamesAction(String title, Boolean allowAddButton, Boolean allowDelete, Integer numberOfSavedGames, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
                 snapshotsClient.getSelectSnapshotIntent(title, allowAddButton, allowDelete, numberOfSavedGames)
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -605,7 +1152,7 @@ public class GPGS extends CordovaPlugin {
                                 callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -615,65 +1162,180 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void saveGameAction(String snapshotName, String snapshotDescription, JSONObject snapshotContents, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    private void saveGameAction(String snapshotName, SnapshotMetadataChange metadataChange, Object snapshotContents, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, true)
-                        .addOnSuccessListener(new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
-                            @Override
-                            public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict) {
-                                if (dataOrConflict.isConflict()) {
-                                    // Handle conflict
-                                    callbackContext.error("Snapshot conflict.");
-                                    return;
-                                }
-                                Snapshot snapshot = dataOrConflict.getData();
-                                snapshot.getSnapshotContents().writeBytes(snapshotContents.toString().getBytes(StandardCharsets.UTF_8));
-                                SnapshotMetadataChange metadataChange = new SnapshotMetadataChange.Builder()
-                                        .setDescription(snapshotDescription)
-                                        .build();
-                                snapshotsClient.commitAndClose(snapshot, metadataChange)
-                                        .addOnSuccessListener(new OnSuccessListener<SnapshotMetadata>() {
-                                            @Override
-                                            public void onSuccess(SnapshotMetadata snapshotMetadata) {
-                                                callbackContext.success();
-                                            }
-                                        })
-                                        .addOnFailureListener(new OnFailureListener() {
-                                            @Override
-                                            public void onFailure(@NonNull Exception e) {
-                                                handleError(e, callbackContext);
-                                            }
-                                        });
-                            }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                handleError(e, callbackContext);
-                            }
-                        });
+                // A string is the JSON text itself and goes to the snapshot without being parsed.
+                String json = snapshotContents instanceof String ? (String) snapshotContents : snapshotContents.toString();
+                queueSave(snapshotName, metadataChange, json.getBytes(StandardCharsets.UTF_8), callbackContext);
             }
         });
     }
 
-    private void loadGameSaveAction(String snapshotName, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    private void saveGameBinaryAction(String snapshotName, SnapshotMetadataChange metadataChange, byte[] data, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
             public void run() {
-                SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, false)
-                        .continueWith(new Continuation<SnapshotsClient.DataOrConflict<Snapshot>, byte[]>() {
-                            @Override
-                            public byte[] then(@NonNull Task<SnapshotsClient.DataOrConflict<Snapshot>> task) throws Exception {
-                                Snapshot snapshot = task.getResult().getData();
-                                return snapshot.getSnapshotContents().readFully();
-                            }
-                        })
-                        .addOnCompleteListener(new OnCompleteListener<byte[]>() {
+                queueSave(snapshotName, metadataChange, data, callbackContext);
+            }
+        });
+    }
+
+    // Writes through to the local mirror first, then hands the save to the debouncer.
+    private void queueSave(String snapshotName, SnapshotMetadataChange metadataChange, byte[] data, final CallbackContext callbackContext) {
+        if (snapshotMirror != null) {
+            String playerId = currentPlayerId();
+            if (playerId != null) {
+                try {
+                    snapshotMirror.writeLocal(playerId, snapshotName, data);
+                } catch (IOException e) {
+                    debugLog("GPGS - Snapshot mirror write failed: " + e.getMessage(), e);
+                }
+            }
+        }
+        saveDebouncer.save(snapshotName, metadataChange, data, saveCompletion(callbackContext));
+    }
+
+    private SaveDebouncer.Completion saveCompletion(final CallbackContext callbackContext) {
+        return new SaveDebouncer.Completion() {
+            @Override
+            public void onComplete(Exception error) {
+                if (error == null) {
+                    callbackContext.success();
+                } else {
+                    handleError(error, callbackContext);
+                }
+            }
+        };
+    }
+
+    // Opens (or creates) the snapshot, replaces its contents and commits it.
+    // With GPGS_SNAPSHOT_COMPRESSION enabled the contents are stored deflated in a SnapshotCodec frame.
+    private void writeSnapshot(String snapshotName, SnapshotMetadataChange metadataChange, byte[] data, final SaveDebouncer.Completion done) {
+        final SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
+        snapshotConflictResolver.open(snapshotsClient, snapshotName, true)
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Snapshot>() {
+                    @Override
+                    public void onSuccess(Snapshot snapshot) {
+                        byte[] stored = snapshotCodec != SnapshotCodec.CODEC_NONE ? SnapshotCodec.encode(data, snapshotCodec) : data;
+                        if (!snapshot.getSnapshotContents().writeBytes(stored)) {
+                            snapshotsClient.discardAndClose(snapshot);
+                            done.onComplete(new IOException("Failed to write snapshot contents."));
+                            return;
+                        }
+                        snapshotsClient.commitAndClose(snapshot, metadataChange)
+                                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<SnapshotMetadata>() {
+                                    @Override
+                                    public void onSuccess(SnapshotMetadata snapshotMetadata) {
+                                        done.onComplete(null);
+                                    }
+                                })
+                                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                                    @Override
+                                    public void onFailure(@NonNull Exception e) {
+                                        done.onComplete(e);
+                                    }
+                                });
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        done.onComplete(e);
+                    }
+                });
+    }
+
+    // Description plus the optional progressValue and playedTime (ms) used by the conflict policies.
+    private static SnapshotMetadataChange snapshotMetadataChange(@Nullable String description, @Nullable JSONObject options) {
+        SnapshotMetadataChange.Builder builder = new SnapshotMetadataChange.Builder();
+        if (description != null) {
+            builder.setDescription(description);
+        }
+        if (options != null && options.has("progressValue")) {
+            builder.setProgressValue(options.optLong("progressValue"));
+        }
+        if (options != null && options.has("playedTime")) {
+            builder.setPlayedTimeMillis(options.optLong("playedTime"));
+        }
+        return builder.build();
+    }
+
+    private void resolveSnapshotConflictAction(String conflictId, Object merged, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                byte[] data = (merged instanceof String ? (String) merged : merged.toString()).getBytes(StandardCharsets.UTF_8);
+                byte[] stored = snapshotCodec != SnapshotCodec.CODEC_NONE ? SnapshotCodec.encode(data, snapshotCodec) : data;
+                if (snapshotConflictResolver.merge(conflictId, stored)) {
+                    callbackContext.success();
+                } else {
+                    callbackContext.error("Unknown or expired snapshot conflict: " + conflictId);
+                }
+            }
+        });
+    }
+
+    // Hands a conflict to JS for the merge policy, with both versions as text. Returns false for
+    // versions that are not UTF-8 text, such as saveGameBinary saves, so they are never merged as
+    // mangled strings and committed back; the resolver lets the most recent version win instead.
+    private boolean emitSnapshotConflictEvent(String conflictId, String snapshotName, SnapshotsClient.SnapshotConflict conflict) {
+        try {
+            JSONObject snapshot = convertConflictVersionToJson(conflict.getSnapshot());
+            JSONObject conflicting = convertConflictVersionToJson(conflict.getConflictingSnapshot());
+            if (snapshot == null || conflicting == null) {
+                debugLog("GPGS - Snapshot conflict on " + snapshotName + " is not text, keeping the most recent version");
+                return false;
+            }
+            JSONObject payload = new JSONObject();
+            payload.put("conflictId", conflictId);
+            payload.put("snapshotName", snapshotName);
+            payload.put("snapshot", snapshot);
+            payload.put("conflictingSnapshot", conflicting);
+            emitWindowEvent(EVENT_SNAPSHOT_CONFLICT, payload);
+            return true;
+        } catch (IOException | JSONException e) {
+            // Without the event nobody can merge.
+            debugLog("GPGS - Failed to emit snapshot conflict: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    // Returns null when the version's data is not valid UTF-8.
+    private JSONObject convertConflictVersionToJson(Snapshot snapshot) throws IOException, JSONException {
+        byte[] data = SnapshotCodec.decode(snapshot.getSnapshotContents().readFully());
+        String text;
+        try {
+            text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(data))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+        JSONObject json = new JSONObject();
+        json.put("metadata", convertSnapshotMetadataToJson(snapshot.getMetadata()));
+        json.put("data", text);
+        return json;
+    }
+
+    private void loadGameSaveAction(String snapshotName, final boolean passthrough, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            public void run() {
+                loadSnapshotData(snapshotName)
+                        .addOnCompleteListener(callbackExecutor, new OnCompleteListener<byte[]>() {
                             @Override
                             public void onComplete(@NonNull Task<byte[]> task) {
                                 if (task.isSuccessful()) {
+                                    if (passthrough) {
+                                        // Stored JSON is sent to JS as-is and parsed only there.
+                                        if (task.getResult().length == 0) {
+                                            callbackContext.error("Snapshot is empty.");
+                                            return;
+                                        }
+                                        callbackContext.sendPluginResult(RawJsonPluginResult.ofStoredText(new String(task.getResult(), StandardCharsets.UTF_8)));
+                                        return;
+                                    }
                                     try {
                                         JSONObject result = new JSONObject(new String(task.getResult(), StandardCharsets.UTF_8));
                                         callbackContext.success(result);
@@ -689,51 +1351,446 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void getFriendsListAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
-            @Override
-            public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
-                playersClient.loadFriends(100, false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<PlayerBuffer>>() {
-                            @Override
-                            public void onSuccess(AnnotatedData<PlayerBuffer> data) {
-                                PlayerBuffer playerBuffer = data.get();
-                                if (playerBuffer == null) {
-                                    callbackContext.error("No friends found.");
-                                    return;
-                                }
-                                try {
-                                    JSONArray friends = new JSONArray();
-                                    for (Player player : playerBuffer) {
-                                        JSONObject friend = new JSONObject();
-                                        friend.put("id", player.getPlayerId());
-                                        friend.put("displayName", player.getDisplayName());
-                                        friends.put(friend);
-                                    }
-                                    playerBuffer.release();
-                                    callbackContext.success(friends);
-                                } catch (JSONException e) {
-                                    handleError(e, callbackContext);
-                                }
-                            }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                handleError(e, callbackContext);
-                            }
-                        });
+    /**
+     * Loads several snapshots with at most {@code concurrency} loads in flight. Every slot is
+     * sent as soon as it completes, as {index, snapshotName, success, data|error}, and a final
+     * {done: true} closes the callback. A failing slot does not affect the others.
+     */
+    private void loadGamesAction(JSONArray snapshotNames, int concurrency, final CallbackContext callbackContext) throws JSONException {
+        final String[] names = new String[snapshotNames.length()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = snapshotNames.getString(i);
+        }
+        if (names.length == 0) {
+            sendLoadGamesDone(callbackContext);
+            return;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(names.length);
+        int slots = Math.min(Math.max(1, concurrency), names.length);
+        for (int i = 0; i < slots; i++) {
+            loadNextGame(names, next, remaining, callbackContext);
+        }
+    }
+
+    private void loadNextGame(final String[] names, final AtomicInteger next, final AtomicInteger remaining,
+                              final CallbackContext callbackContext) {
+        final int index = next.getAndIncrement();
+        if (index >= names.length) return;
+        try {
+            executor.execute(PluginExecutor.Lane.READ, new Runnable() {
+                @Override
+                public void run() {
+                    Task<byte[]> load;
+                    try {
+                        load = loadSnapshotData(names[index]);
+                    } catch (Exception e) {
+                        // Settle the slot here, or loadGames would never send its final result.
+                        sendLoadGamesSlot(index, names[index], null, e, callbackContext);
+                        finishLoadGamesSlot(names, next, remaining, callbackContext);
+                        return;
+                    }
+                    load.addOnCompleteListener(callbackExecutor, new OnCompleteListener<byte[]>() {
+                        @Override
+                        public void onComplete(@NonNull Task<byte[]> task) {
+                            sendLoadGamesSlot(index, names[index], task.isSuccessful() ? task.getResult() : null,
+                                    task.getException(), callbackContext);
+                            finishLoadGamesSlot(names, next, remaining, callbackContext);
+                        }
+                    });
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sendLoadGamesSlot(index, names[index], null, e, callbackContext);
+            finishLoadGamesSlot(names, next, remaining, callbackContext);
+        }
+    }
+
+    private void finishLoadGamesSlot(String[] names, AtomicInteger next, AtomicInteger remaining, CallbackContext callbackContext) {
+        if (remaining.decrementAndGet() == 0) {
+            sendLoadGamesDone(callbackContext);
+        } else {
+            loadNextGame(names, next, remaining, callbackContext);
+        }
+    }
+
+    private void sendLoadGamesSlot(int index, String snapshotName, @Nullable byte[] data, @Nullable Exception error,
+                                   CallbackContext callbackContext) {
+        try {
+            JSONObject slot = new JSONObject();
+            slot.put("index", index);
+            slot.put("snapshotName", snapshotName);
+            slot.put("done", false);
+            if (error == null) {
+                try {
+                    if (data == null || data.length == 0) {
+                        throw new JSONException("Snapshot is empty.");
+                    }
+                    slot.put("data", new JSONTokener(new String(data, StandardCharsets.UTF_8)).nextValue());
+                } catch (JSONException e) {
+                    error = e;
+                }
+            }
+            slot.put("success", error == null);
+            if (error != null) {
+                slot.put("error", convertExceptionToJson(error));
+            }
+            PluginResult result = new PluginResult(PluginResult.Status.OK, slot);
+            result.setKeepCallback(true);
+            callbackContext.sendPluginResult(result);
+        } catch (JSONException e) {
+            debugLog("GPGS - Failed to send loadGames slot: " + e.getMessage(), e);
+        }
+    }
+
+    private void sendLoadGamesDone(CallbackContext callbackContext) {
+        try {
+            JSONObject done = new JSONObject();
+            done.put("done", true);
+            callbackContext.success(done);
+        } catch (JSONException e) {
+            handleError(e, callbackContext);
+        }
+    }
+
+    private void loadGameBinaryAction(String snapshotName, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            public void run() {
+                loadSnapshotData(snapshotName)
+                        .addOnCompleteListener(callbackExecutor, new OnCompleteListener<byte[]>() {
+                            @Override
+                            public void onComplete(@NonNull Task<byte[]> task) {
+                                if (task.isSuccessful()) {
+                                    // Sent as an ArrayBuffer result, without any JSON wrapping.
+                                    callbackContext.success(task.getResult());
+                                } else {
+                                    handleError(task.getException(), callbackContext);
+                                }
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Loads snapshot data, from the local mirror when it is enabled and holds a copy. A mirror hit
+     * is returned right away and the cloud copy is checked in the background; a miss is read from
+     * the cloud and mirrored.
+     */
+    private Task<byte[]> loadSnapshotData(final String snapshotName) {
+        if (snapshotMirror == null) {
+            return readSnapshot(snapshotName);
+        }
+        final String playerId = currentPlayerId();
+        if (playerId == null) {
+            return readSnapshot(snapshotName);
+        }
+        byte[] local = snapshotMirror.read(playerId, snapshotName);
+        if (local != null) {
+            refreshMirror(playerId, snapshotName);
+            return Tasks.forResult(local);
+        }
+        return readSnapshot(snapshotName)
+                .continueWith(callbackExecutor, new Continuation<byte[], byte[]>() {
+                    @Override
+                    public byte[] then(@NonNull Task<byte[]> task) throws Exception {
+                        byte[] data = task.getResult(Exception.class);
+                        try {
+                            snapshotMirror.replaceIfCommitted(playerId, snapshotName, data);
+                        } catch (IOException e) {
+                            debugLog("GPGS - Snapshot mirror write failed: " + e.getMessage(), e);
+                        }
+                        return data;
+                    }
+                });
+    }
+
+    // Compares the mirrored snapshot with the cloud and emits gpgs.snapshotupdated if the cloud copy differs.
+    private void refreshMirror(final String playerId, final String snapshotName) {
+        if (snapshotMirror.isPending(playerId, snapshotName)) return;
+        readSnapshot(snapshotName)
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<byte[]>() {
+                    @Override
+                    public void onSuccess(byte[] data) {
+                        try {
+                            if (snapshotMirror.replaceIfCommitted(playerId, snapshotName, data)) {
+                                JSONObject payload = new JSONObject();
+                                payload.put("snapshotName", snapshotName);
+                                emitWindowEvent(EVENT_SNAPSHOT_UPDATED, payload);
+                            }
+                        } catch (IOException | JSONException e) {
+                            debugLog("GPGS - Snapshot mirror refresh failed: " + e.getMessage(), e);
+                        }
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        debugLog("GPGS - Snapshot mirror refresh failed: " + e.getMessage(), e);
+                    }
+                });
+    }
+
+    // Opens an existing snapshot and reads its contents, unpacking framed snapshots.
+    private Task<byte[]> readSnapshot(String snapshotName) {
+        final SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
+        return snapshotConflictResolver.open(snapshotsClient, snapshotName, false)
+                .continueWith(callbackExecutor, new Continuation<Snapshot, byte[]>() {
+                    @Override
+                    public byte[] then(@NonNull Task<Snapshot> task) throws Exception {
+                        Snapshot snapshot = task.getResult(Exception.class);
+                        try {
+                            return SnapshotCodec.decode(snapshot.getSnapshotContents().readFully());
+                        } finally {
+                            // Release the handle; reads never commit anything.
+                            snapshotsClient.discardAndClose(snapshot);
+                        }
+                    }
+                });
+    }
+
+    private void openSnapshotSessionAction(String snapshotName, boolean createIfNotFound, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                snapshotConflictResolver.open(PlayGames.getSnapshotsClient(cordova.getActivity()), snapshotName, createIfNotFound)
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Snapshot>() {
+                            @Override
+                            public void onSuccess(Snapshot snapshot) {
+                                int sessionId = snapshotSessions.register(snapshotName, snapshot);
+                                try {
+                                    JSONObject result = new JSONObject();
+                                    result.put("sessionId", sessionId);
+                                    result.put("metadata", convertSnapshotMetadataToJson(snapshot.getMetadata()));
+                                    callbackContext.success(result);
+                                } catch (JSONException e) {
+                                    handleError(e, callbackContext);
+                                }
+                            }
+                        })
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                            @Override
+                            public void onFailure(@NonNull Exception e) {
+                                handleError(e, callbackContext);
+                            }
+                        });
+            }
+        });
+    }
+
+    // Session writes stay in memory and replace each other; only commitSession touches the snapshot.
+    private void writeSessionAction(int sessionId, byte[] data, final CallbackContext callbackContext) {
+        SnapshotSessionRegistry.Session session = snapshotSessions.get(sessionId);
+        if (session == null) {
+            callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+            return;
+        }
+        synchronized (session) {
+            if (session.closed) {
+                callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+                return;
+            }
+            session.pendingData = data;
+        }
+        callbackContext.success();
+    }
+
+    private void readSessionAction(int sessionId, boolean binary, final CallbackContext callbackContext) {
+        final SnapshotSessionRegistry.Session session = snapshotSessions.get(sessionId);
+        if (session == null) {
+            callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+            return;
+        }
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    byte[] data;
+                    synchronized (session) {
+                        if (session.closed) {
+                            callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+                            return;
+                        }
+                        data = session.pendingData != null
+                                ? session.pendingData
+                                : SnapshotCodec.decode(session.snapshot.getSnapshotContents().readFully());
+                    }
+                    if (binary) {
+                        callbackContext.success(data);
+                    } else if (data.length == 0) {
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, (String) null));
+                    } else {
+                        callbackContext.sendPluginResult(RawJsonPluginResult.ofStoredText(new String(data, StandardCharsets.UTF_8)));
+                    }
+                } catch (IOException e) {
+                    handleError(e, callbackContext);
+                }
             }
         });
     }
 
+    private void commitSessionAction(int sessionId, SnapshotMetadataChange metadataChange, final CallbackContext callbackContext) {
+        final SnapshotSessionRegistry.Session session = snapshotSessions.remove(sessionId);
+        if (session == null) {
+            callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+            return;
+        }
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                final SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
+                final byte[] data;
+                final boolean written;
+                synchronized (session) {
+                    data = session.pendingData;
+                    written = data == null || session.snapshot.getSnapshotContents().writeBytes(
+                            snapshotCodec != SnapshotCodec.CODEC_NONE ? SnapshotCodec.encode(data, snapshotCodec) : data);
+                }
+                if (!written) {
+                    snapshotsClient.discardAndClose(session.snapshot);
+                    callbackContext.error("Failed to write snapshot contents.");
+                    return;
+                }
+                final String playerId = snapshotMirror != null && data != null ? currentPlayerId() : null;
+                if (playerId != null) {
+                    try {
+                        snapshotMirror.writeLocal(playerId, session.snapshotName, data);
+                    } catch (IOException e) {
+                        debugLog("GPGS - Snapshot mirror write failed: " + e.getMessage(), e);
+                    }
+                }
+                snapshotsClient.commitAndClose(session.snapshot, metadataChange)
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<SnapshotMetadata>() {
+                            @Override
+                            public void onSuccess(SnapshotMetadata snapshotMetadata) {
+                                if (playerId != null) {
+                                    snapshotMirror.markCommitted(playerId, session.snapshotName, data);
+                                }
+                                try {
+                                    callbackContext.success(convertSnapshotMetadataToJson(snapshotMetadata));
+                                } catch (JSONException e) {
+                                    handleError(e, callbackContext);
+                                }
+                            }
+                        })
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                            @Override
+                            public void onFailure(@NonNull Exception e) {
+                                if (playerId != null) {
+                                    snapshotMirror.discardPending(playerId, session.snapshotName, data);
+                                }
+                                handleError(e, callbackContext);
+                            }
+                        });
+            }
+        });
+    }
+
+    private void discardSessionAction(int sessionId, final CallbackContext callbackContext) {
+        SnapshotSessionRegistry.Session session = snapshotSessions.remove(sessionId);
+        if (session == null) {
+            callbackContext.error("Unknown or closed snapshot session: " + sessionId);
+            return;
+        }
+        PlayGames.getSnapshotsClient(cordova.getActivity()).discardAndClose(session.snapshot);
+        callbackContext.success();
+    }
+
+    private void getFriendsListAction(final int pageSize, final int maxTotal, final boolean stream,
+                                      @Nullable final FieldProjection fields, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
+                loadFriendsPage(playersClient, playersClient.loadFriends(pageSize, false), null,
+                        pageSize, maxTotal, stream, fields, new JSONArray(), callbackContext);
+            }
+        });
+    }
+
+    /**
+     * Handles one page of friends and requests the next with loadMoreFriends. The buffer grows
+     * with every page, so only the rows past the previous count are converted. In streaming mode
+     * each page is sent as soon as it is converted and the last one is marked done; otherwise the
+     * pages are collected and sent as one array.
+     */
+    private void loadFriendsPage(final PlayersClient playersClient, Task<AnnotatedData<PlayerBuffer>> load,
+                                 @Nullable final PlayerBuffer previous, final int pageSize, final int maxTotal,
+                                 final boolean stream, @Nullable final FieldProjection fields, final JSONArray collected,
+                                 final CallbackContext callbackContext) {
+        final int previousCount = previous != null ? previous.getCount() : 0;
+        load.addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<PlayerBuffer>>() {
+                    @Override
+                    public void onSuccess(AnnotatedData<PlayerBuffer> data) {
+                        PlayerBuffer playerBuffer = data.get();
+                        if (previous != null && previous != playerBuffer) {
+                            previous.release();
+                        }
+                        if (playerBuffer == null && previous == null) {
+                            callbackContext.error("No friends found.");
+                            return;
+                        }
+                        int count = playerBuffer != null ? playerBuffer.getCount() : 0;
+                        int end = maxTotal > 0 ? Math.min(count, maxTotal) : count;
+                        try {
+                            JSONArray page = new JSONArray();
+                            for (int i = previousCount; i < end; i++) {
+                                page.put(convertFriendToJson(playerBuffer.get(i), fields));
+                            }
+                            boolean done = page.length() < pageSize || (maxTotal > 0 && end >= maxTotal);
+                            if (done && playerBuffer != null) {
+                                playerBuffer.release();
+                            }
+
+                            if (stream) {
+                                JSONObject result = new JSONObject();
+                                result.put("friends", page);
+                                result.put("done", done);
+                                PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, result);
+                                pluginResult.setKeepCallback(!done);
+                                callbackContext.sendPluginResult(pluginResult);
+                            } else {
+                                for (int i = 0; i < page.length(); i++) {
+                                    collected.put(page.get(i));
+                                }
+                                if (done) {
+                                    callbackContext.success(collected);
+                                }
+                            }
+
+                            if (!done) {
+                                loadFriendsPage(playersClient, playersClient.loadMoreFriends(pageSize), playerBuffer,
+                                        pageSize, maxTotal, stream, fields, collected, callbackContext);
+                            }
+                        } catch (JSONException e) {
+                            if (playerBuffer != null) playerBuffer.release();
+                            handleError(e, callbackContext);
+                        }
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        if (previous != null) previous.release();
+                        handleError(e, callbackContext);
+                    }
+                });
+    }
+
+    private JSONObject convertFriendToJson(Player player, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
+        JSONObject friend = new JSONObject();
+        if (FieldProjection.includes(fields, "id")) friend.put("id", player.getPlayerId());
+        if (FieldProjection.includes(fields, "displayName")) friend.put("displayName", player.getDisplayName());
+        return friend;
+    }
+
     private void showAnotherPlayersProfileAction(String playerId, @Nullable final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             public void run() {
                 PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
                 playersClient.getCompareProfileIntent(playerId)
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -742,7 +1799,7 @@ public class GPGS extends CordovaPlugin {
                                     callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 if (callbackContext != null)
@@ -754,12 +1811,12 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void showPlayerSearchAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
                 playersClient.getPlayerSearchIntent()
-                        .addOnSuccessListener(new OnSuccessListener<Intent>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Intent>() {
                             @Override
                             public void onSuccess(Intent intent) {
                                 cordova.setActivityResultCallback(GPGS.this);
@@ -767,7 +1824,7 @@ public class GPGS extends CordovaPlugin {
                                 callbackContext.success();
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -779,45 +1836,57 @@ public class GPGS extends CordovaPlugin {
 
 
     private void getPlayerAction(String id, Boolean forceReload, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        if (!forceReload) {
+            String cached = playerCache.get(id);
+            if (cached != null) {
+                callbackContext.sendPluginResult(new RawJsonPluginResult(cached));
+                return;
+            }
+        }
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             public void run() {
-                PlayersClient playersClient = PlayGames.getPlayersClient(cordova.getActivity());
-                playersClient.loadPlayer(id, forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<Player>>() {
-                            @Override
-                            public void onSuccess(AnnotatedData<Player> data) {
-                                Player player = data.get();
-                                if (player == null) {
-                                    callbackContext.error("Player not found.");
-                                    return;
-                                }
-                                try {
-                                    JSONObject result = new JSONObject();
-                                    result.put("id", player.getPlayerId());
-                                    result.put("displayName", player.getDisplayName());
-                                    callbackContext.success(result);
-                                } catch (JSONException e) {
-                                    handleError(e, callbackContext);
-                                }
-                            }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                handleError(e, callbackContext);
-                            }
-                        });
+                playerCache.load(id, forceReload, new PlayerCache.Loader() {
+                    @Override
+                    public Task<String> load(String playerId, boolean reload) {
+                        return PlayGames.getPlayersClient(cordova.getActivity())
+                                .loadPlayer(playerId, reload)
+                                .continueWith(callbackExecutor, new Continuation<AnnotatedData<Player>, String>() {
+                                    @Override
+                                    public String then(@NonNull Task<AnnotatedData<Player>> task) throws Exception {
+                                        if (!task.isSuccessful()) {
+                                            throw task.getException();
+                                        }
+                                        Player player = task.getResult().get();
+                                        if (player == null) {
+                                            throw new IllegalStateException("Player not found.");
+                                        }
+                                        JsonWriter writer = JsonWriter.obtain();
+                                        writePlayer(writer, player, null);
+                                        return writer.toString();
+                                    }
+                                });
+                    }
+                }).addOnCompleteListener(callbackExecutor, new OnCompleteListener<String>() {
+                    @Override
+                    public void onComplete(@NonNull Task<String> task) {
+                        if (task.isSuccessful()) {
+                            callbackContext.sendPluginResult(new RawJsonPluginResult(task.getResult()));
+                        } else {
+                            handleError(task.getException(), callbackContext);
+                        }
+                    }
+                });
             }
         });
     }
 
     private void getAllEventsAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 EventsClient eventsClient = PlayGames.getEventsClient(cordova.getActivity());
                 eventsClient.load(true)
-                        .addOnCompleteListener(new OnCompleteListener<AnnotatedData<EventBuffer>>() {
+                        .addOnCompleteListener(callbackExecutor, new OnCompleteListener<AnnotatedData<EventBuffer>>() {
                             @Override
                             public void onComplete(@NonNull Task<AnnotatedData<EventBuffer>> task) {
                                 if (task.isSuccessful()) {
@@ -834,7 +1903,7 @@ public class GPGS extends CordovaPlugin {
                                             eventJson.put("id", event.getEventId());
                                             eventJson.put("name", event.getName());
                                             eventJson.put("description", event.getDescription());
-                                            eventJson.put("value", event.getValue());
+                                            eventJson.put("value", event.getValue() + eventCounterAggregator.pending(event.getEventId()));
                                             events.put(eventJson);
                                         }
                                         eventBuffer.release();
@@ -852,12 +1921,12 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void getEventAction(String id, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 EventsClient eventsClient = PlayGames.getEventsClient(cordova.getActivity());
                 eventsClient.loadByIds(true, id)
-                        .addOnCompleteListener(new OnCompleteListener<AnnotatedData<EventBuffer>>() {
+                        .addOnCompleteListener(callbackExecutor, new OnCompleteListener<AnnotatedData<EventBuffer>>() {
                             @Override
                             public void onComplete(@NonNull Task<AnnotatedData<EventBuffer>> task) {
                                 if (task.isSuccessful()) {
@@ -875,7 +1944,7 @@ public class GPGS extends CordovaPlugin {
                                         eventJson.put("id", event.getEventId());
                                         eventJson.put("name", event.getName());
                                         eventJson.put("description", event.getDescription());
-                                        eventJson.put("value", event.getValue());
+                                        eventJson.put("value", event.getValue() + eventCounterAggregator.pending(event.getEventId()));
                                         eventBuffer.release();
                                         callbackContext.success(eventJson);
                                     } catch (JSONException e) {
@@ -891,22 +1960,210 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void incrementEventAction(String id, int amount, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        if (eventCounterAggregator.isEnabled()) {
+            // Absorbed on the calling thread; the summed delta is sent on the next flush.
+            eventCounterAggregator.increment(id, amount);
+            callbackContext.success();
+            return;
+        }
+        runWrite(OutboxJournal.TYPE_INCREMENT_EVENT, id, amount, callbackContext, new Runnable() {
             public void run() {
-                PlayGames.getEventsClient(cordova.getActivity()).increment(id, amount);
+                deliverWrite(OutboxJournal.TYPE_INCREMENT_EVENT, id, amount);
                 callbackContext.success();
             }
         });
     }
 
+    // Runs a fire-and-forget write on the write lane. When the lane is full the write is journaled
+    // instead of dropped: on the scheduler, never on the calling thread, and after the progress the
+    // achievement queue still holds, so it is replayed after it.
+    private void runWrite(final byte type, final String id, final long value, final CallbackContext callbackContext, Runnable task) {
+        try {
+            executor.execute(PluginExecutor.Lane.WRITE, task);
+        } catch (RejectedExecutionException full) {
+            try {
+                scheduler.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            achievementWriteQueue.flush();
+                            outboxJournal.append(type, id, value);
+                            switch (type) {
+                                case OutboxJournal.TYPE_UNLOCK_ACHIEVEMENT:
+                                    achievementCache.unlock(id);
+                                    break;
+                                case OutboxJournal.TYPE_INCREMENT_ACHIEVEMENT:
+                                    achievementCache.increment(id, (int) value);
+                                    break;
+                                case OutboxJournal.TYPE_SET_STEPS_IN_ACHIEVEMENT:
+                                    achievementCache.setSteps(id, (int) value);
+                                    break;
+                            }
+                            scheduleOutboxReplay();
+                            callbackContext.success();
+                        } catch (IOException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException shutdown) {
+                handleError(shutdown, callbackContext);
+            }
+        }
+    }
+
+    // Replays the journal soon while signed in, for writes journaled because the write lane was full.
+    private void scheduleOutboxReplay() {
+        if (!wasSignedIn || !outboxReplayScheduled.compareAndSet(false, true)) return;
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    outboxReplayScheduled.set(false);
+                    replayOutbox();
+                }
+            }, OUTBOX_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            outboxReplayScheduled.set(false);
+        }
+    }
+
+    // Sends a fire-and-forget write, or journals it on disk while the player is signed out.
+    private void deliverWrite(byte type, String id, long value) {
+        if (!wasSignedIn) {
+            try {
+                outboxJournal.append(type, id, value);
+                return;
+            } catch (IOException e) {
+                handleError(e, null);
+            }
+        }
+        sendWrite(type, id, value);
+    }
+
+    private void sendWrite(byte type, String id, long value) {
+        switch (type) {
+            case OutboxJournal.TYPE_UNLOCK_ACHIEVEMENT:
+                PlayGames.getAchievementsClient(cordova.getActivity()).unlock(id);
+                break;
+            case OutboxJournal.TYPE_INCREMENT_ACHIEVEMENT:
+                PlayGames.getAchievementsClient(cordova.getActivity()).increment(id, (int) value);
+                break;
+            case OutboxJournal.TYPE_SET_STEPS_IN_ACHIEVEMENT:
+                PlayGames.getAchievementsClient(cordova.getActivity()).setSteps(id, (int) value);
+                break;
+            case OutboxJournal.TYPE_SUBMIT_SCORE:
+                PlayGames.getLeaderboardsClient(cordova.getActivity()).submitScore(id, value);
+                break;
+            case OutboxJournal.TYPE_INCREMENT_EVENT:
+                PlayGames.getEventsClient(cordova.getActivity()).increment(id, (int) value);
+                break;
+        }
+    }
+
+    // Sends a journaled write and returns a task that completes once Play Games has accepted it.
+    // Events have no acknowledged variant, so they count as sent once issued.
+    @Nullable
+    private Task<?> replayWrite(OutboxJournal.Entry entry) {
+        switch (entry.type) {
+            case OutboxJournal.TYPE_UNLOCK_ACHIEVEMENT:
+                return PlayGames.getAchievementsClient(cordova.getActivity()).unlockImmediate(entry.id);
+            case OutboxJournal.TYPE_INCREMENT_ACHIEVEMENT:
+                return PlayGames.getAchievementsClient(cordova.getActivity()).incrementImmediate(entry.id, (int) entry.value);
+            case OutboxJournal.TYPE_SET_STEPS_IN_ACHIEVEMENT:
+                return PlayGames.getAchievementsClient(cordova.getActivity()).setStepsImmediate(entry.id, (int) entry.value);
+            case OutboxJournal.TYPE_SUBMIT_SCORE:
+                return PlayGames.getLeaderboardsClient(cordova.getActivity()).submitScoreImmediate(entry.id, entry.value);
+            default:
+                sendWrite(entry.type, entry.id, entry.value);
+                return null;
+        }
+    }
+
+    // Sends everything journaled while signed out, in one pass, after a sign-in transition.
+    // Writes are removed from the journal only once Play Games has accepted them; the ones
+    // that fail or are still unanswered after the timeout stay journaled for the next replay.
+    // The lane thread only reads the journal and issues the writes; it never waits for them.
+    private void replayOutbox() {
+        boolean scheduled = runOn(PluginExecutor.Lane.WRITE, null, new Runnable() {
+            @Override
+            public void run() {
+                final OutboxJournal.Batch batch;
+                try {
+                    if (outboxJournal.isEmpty()) return;
+                    batch = outboxJournal.beginReplay();
+                } catch (IOException e) {
+                    handleError(e, null);
+                    return;
+                }
+                // Null while another replay is still running.
+                if (batch == null) return;
+                final List<Task<?>> sent = new ArrayList<>(batch.entries.size());
+                List<Task<?>> pending = new ArrayList<>();
+                for (OutboxJournal.Entry entry : batch.entries) {
+                    Task<?> task;
+                    try {
+                        task = replayWrite(entry);
+                    } catch (RuntimeException e) {
+                        task = Tasks.forException(e);
+                    }
+                    sent.add(task);
+                    if (task != null) {
+                        pending.add(task);
+                    }
+                }
+                final AtomicBoolean finished = new AtomicBoolean();
+                final Runnable finish = new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!finished.compareAndSet(false, true)) return;
+                        List<OutboxJournal.Entry> unsent = new ArrayList<>();
+                        for (int i = 0; i < sent.size(); i++) {
+                            Task<?> task = sent.get(i);
+                            if (task != null && !task.isSuccessful()) {
+                                unsent.add(batch.entries.get(i));
+                            }
+                        }
+                        try {
+                            outboxJournal.acknowledge(batch, unsent);
+                            if (unsent.isEmpty() && !outboxJournal.isEmpty()) {
+                                // Journaled while this replay was running.
+                                scheduleOutboxReplay();
+                            }
+                        } catch (IOException e) {
+                            handleError(e, null);
+                        }
+                        debugLog("GPGS - Replayed " + (batch.entries.size() - unsent.size()) + " journaled writes, "
+                                + unsent.size() + " kept for the next replay.");
+                    }
+                };
+                try {
+                    scheduler.schedule(finish, OUTBOX_REPLAY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    Tasks.whenAllComplete(pending).addOnCompleteListener(scheduler, new OnCompleteListener<List<Task<?>>>() {
+                        @Override
+                        public void onComplete(@NonNull Task<List<Task<?>>> task) {
+                            finish.run();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: acknowledge what has already been accepted.
+                    finish.run();
+                }
+            }
+        });
+        if (!scheduled) {
+            scheduleOutboxReplay();
+        }
+    }
+
     private void isSignedInAction(final CallbackContext callbackContext) {
         // Check if the user is signed in.
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 try {
                     GamesSignInClient signInClient = PlayGames.getGamesSignInClient(cordova.getActivity());
-                    signInClient.isAuthenticated().addOnCompleteListener(new OnCompleteListener<AuthenticationResult>() {
+                    signInClient.isAuthenticated().addOnCompleteListener(callbackExecutor, new OnCompleteListener<AuthenticationResult>() {
                         @Override
                         public void onComplete(@NonNull Task<AuthenticationResult> task) {
                             if (task.isSuccessful()) {
@@ -931,7 +2188,7 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void isGooglePlayServicesAvailableAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 try {
@@ -948,6 +2205,45 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
+    // The signed-in player, cached for the sign-in session. The first lookup blocks the calling plugin
+    // thread for at most PLAYER_ID_TIMEOUT_MS; null if unavailable.
+    @Nullable
+    private String currentPlayerId() {
+        String playerId = cachedPlayerId;
+        if (playerId != null) return playerId;
+        try {
+            playerId = Tasks.await(PlayGames.getPlayersClient(cordova.getActivity()).getCurrentPlayerId(),
+                    PLAYER_ID_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            cachedPlayerId = playerId;
+            return playerId;
+        } catch (ExecutionException | TimeoutException e) {
+            debugLog("GPGS - Current player unavailable: " + e.getMessage(), e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+
+    // Runs plugin work on the given priority lane, reporting a full queue to the caller.
+    private boolean runOn(PluginExecutor.Lane lane, @Nullable CallbackContext callbackContext, Runnable task) {
+        try {
+            executor.execute(lane, task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            handleError(e, callbackContext);
+            return false;
+        }
+    }
+
+    // With GPGS_STRICT_THREADING enabled, fails loudly if result conversion runs on the main looper.
+    private void assertOffMainThread() {
+        if (strictThreading && Looper.myLooper() == Looper.getMainLooper()) {
+            throw new IllegalStateException("GPGS result conversion must not run on the main thread.");
+        }
+    }
+
     private void debugLog(String message) {
         if (debugMode) {
             Log.d(TAG, message);
@@ -960,6 +2256,17 @@ public class GPGS extends CordovaPlugin {
         }
     }
 
+    private JSONObject convertExceptionToJson(Exception e) throws JSONException {
+        JSONObject error = new JSONObject();
+        error.put("message", e.getMessage());
+
+        if (e instanceof com.google.android.gms.common.api.ApiException) {
+            com.google.android.gms.common.api.ApiException apiException = (com.google.android.gms.common.api.ApiException) e;
+            error.put("statusCode", apiException.getStatusCode());
+        }
+        return error;
+    }
+
     private void handleError(Exception e, CallbackContext callbackContext) {
         if (callbackContext == null) {
             debugLog("GPGS Error: " + e.getMessage(), e);
@@ -967,15 +2274,7 @@ public class GPGS extends CordovaPlugin {
         }
 
         try {
-            JSONObject error = new JSONObject();
-            error.put("message", e.getMessage());
-
-            if (e instanceof com.google.android.gms.common.api.ApiException) {
-                com.google.android.gms.common.api.ApiException apiException = (com.google.android.gms.common.api.ApiException) e;
-                error.put("statusCode", apiException.getStatusCode());
-            }
-
-            callbackContext.error(error);
+            callbackContext.error(convertExceptionToJson(e));
         } catch (JSONException jsonException) {
             callbackContext.error("{\"message\": \"" + e.getMessage() + "\", \"originalException\": \"" + jsonException.getMessage() + "\"}");
         }
@@ -983,113 +2282,253 @@ public class GPGS extends CordovaPlugin {
         debugLog("GPGS Error: " + e.getMessage(), e);
     }
 
-    private JSONObject convertAchievementToJson(Achievement achievement) throws JSONException {
+    // Each result is converted only by its write method, into a JsonWriter when it is sent as
+    // text. The convert methods build the JSONObject form from the same method for the callers
+    // that still need one, such as caches that are updated in place and streamed chunks.
+
+    private JSONObject convertAchievementToJson(Achievement achievement, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
         if (achievement == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("achievementId", achievement.getAchievementId());
-        json.put("name", achievement.getName());
-        json.put("description", achievement.getDescription());
-        json.put("type", achievement.getType());
-        json.put("state", achievement.getState());
-        json.put("xpValue", achievement.getXpValue());
-        json.put("lastUpdatedTimestamp", achievement.getLastUpdatedTimestamp());
-        json.put("revealedImageUri", achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : null);
-        json.put("unlockedImageUri", achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : null);
-        if (achievement.getType() == Achievement.TYPE_INCREMENTAL) {
-            json.put("currentSteps", achievement.getCurrentSteps());
-            json.put("totalSteps", achievement.getTotalSteps());
-        }
-        return json;
+        JsonTree tree = new JsonTree();
+        writeAchievement(tree, achievement, fields);
+        return tree.object();
     }
 
     private JSONObject convertLeaderboardToJson(Leaderboard leaderboard) throws JSONException {
+        assertOffMainThread();
         if (leaderboard == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("leaderboardId", leaderboard.getLeaderboardId());
-        json.put("displayName", leaderboard.getDisplayName());
-        json.put("iconImageUri", leaderboard.getIconImageUri() != null ? leaderboard.getIconImageUri().toString() : null);
-        json.put("scoreOrder", leaderboard.getScoreOrder());
-        return json;
+        JsonTree tree = new JsonTree();
+        writeLeaderboard(tree, leaderboard);
+        return tree.object();
     }
 
-    private JSONObject convertLeaderboardScoreToJson(LeaderboardScore score) throws JSONException {
+    private JSONObject convertLeaderboardScoreToJson(LeaderboardScore score, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
         if (score == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("rank", score.getRank());
-        json.put("displayRank", score.getDisplayRank());
-        json.put("rawScore", score.getRawScore());
-        json.put("displayScore", score.getDisplayScore());
-        json.put("timestampMillis", score.getTimestampMillis());
-        if (score.getScoreHolder() != null) {
-            json.put("scoreHolder", convertPlayerToJson(score.getScoreHolder()));
+        JsonTree tree = new JsonTree();
+        writeLeaderboardScore(tree, score, fields);
+        return tree.object();
+    }
+
+    private JSONObject convertSnapshotMetadataToJson(SnapshotMetadata metadata) throws JSONException {
+        return convertSnapshotMetadataToJson(metadata, null);
+    }
+
+    private JSONObject convertSnapshotMetadataToJson(SnapshotMetadata metadata, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
+        if (metadata == null) return null;
+        JsonTree tree = new JsonTree();
+        writeSnapshotMetadata(tree, metadata, fields);
+        return tree.object();
+    }
+
+    private void writeAchievement(JsonSink writer, Achievement achievement, @Nullable FieldProjection fields) {
+        writer.beginObject();
+        if (FieldProjection.includes(fields, "achievementId")) writer.name("achievementId").value(achievement.getAchievementId());
+        if (FieldProjection.includes(fields, "name")) writer.name("name").value(achievement.getName());
+        if (FieldProjection.includes(fields, "description")) writer.name("description").value(achievement.getDescription());
+        if (FieldProjection.includes(fields, "type")) writer.name("type").value(achievement.getType());
+        if (FieldProjection.includes(fields, "state")) writer.name("state").value(achievement.getState());
+        if (FieldProjection.includes(fields, "xpValue")) writer.name("xpValue").value(achievement.getXpValue());
+        if (FieldProjection.includes(fields, "lastUpdatedTimestamp")) {
+            writer.name("lastUpdatedTimestamp").value(achievement.getLastUpdatedTimestamp());
         }
-        return json;
+        if (FieldProjection.includes(fields, "revealedImageUri")) {
+            writer.name("revealedImageUri").value(achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : null);
+        }
+        if (FieldProjection.includes(fields, "unlockedImageUri")) {
+            writer.name("unlockedImageUri").value(achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : null);
+        }
+        if (achievement.getType() == Achievement.TYPE_INCREMENTAL) {
+            if (FieldProjection.includes(fields, "currentSteps")) writer.name("currentSteps").value(achievement.getCurrentSteps());
+            if (FieldProjection.includes(fields, "totalSteps")) writer.name("totalSteps").value(achievement.getTotalSteps());
+        }
+        writer.endObject();
     }
 
-    private JSONObject convertLoadScoresResultToJson(LeaderboardScores result) throws JSONException {
-        if (result == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("leaderboard", convertLeaderboardToJson(result.getLeaderboard()));
-        JSONArray scores = new JSONArray();
+    private void writeLeaderboard(JsonSink writer, Leaderboard leaderboard) {
+        if (leaderboard == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject()
+                .name("leaderboardId").value(leaderboard.getLeaderboardId())
+                .name("displayName").value(leaderboard.getDisplayName())
+                .name("iconImageUri").value(leaderboard.getIconImageUri() != null ? leaderboard.getIconImageUri().toString() : null)
+                .name("scoreOrder").value(leaderboard.getScoreOrder())
+                .endObject();
+        scoreSubmitCoalescer.setScoreOrder(leaderboard.getLeaderboardId(), leaderboard.getScoreOrder());
+    }
+
+    // Score holders requested whole and not cached yet are cached as text, taken from the writer
+    // when the score is being written as text.
+    private void writeLeaderboardScore(JsonSink writer, LeaderboardScore score, @Nullable FieldProjection fields) {
+        writer.beginObject();
+        if (FieldProjection.includes(fields, "rank")) writer.name("rank").value(score.getRank());
+        if (FieldProjection.includes(fields, "displayRank")) writer.name("displayRank").value(score.getDisplayRank());
+        if (FieldProjection.includes(fields, "rawScore")) writer.name("rawScore").value(score.getRawScore());
+        if (FieldProjection.includes(fields, "displayScore")) writer.name("displayScore").value(score.getDisplayScore());
+        if (FieldProjection.includes(fields, "timestampMillis")) writer.name("timestampMillis").value(score.getTimestampMillis());
+        Player scoreHolder = score.getScoreHolder();
+        if (scoreHolder != null && FieldProjection.includes(fields, "scoreHolder")) {
+            FieldProjection holderFields = FieldProjection.nested(fields, "scoreHolder");
+            writer.name("scoreHolder");
+            writePlayer(writer, scoreHolder, holderFields);
+            if (holderFields == null && playerCache.get(scoreHolder.getPlayerId()) == null) {
+                String text;
+                if (writer instanceof JsonWriter) {
+                    text = ((JsonWriter) writer).lastClosed();
+                } else {
+                    JsonWriter scratch = JsonWriter.scratch();
+                    writePlayer(scratch, scoreHolder, null);
+                    text = scratch.toString();
+                }
+                playerCache.put(scoreHolder.getPlayerId(), text);
+            }
+        }
+        writer.endObject();
+    }
+
+    private void writePlayer(JsonSink writer, Player player, @Nullable FieldProjection fields) {
+        writer.beginObject();
+        if (FieldProjection.includes(fields, "id")) writer.name("id").value(player.getPlayerId());
+        if (FieldProjection.includes(fields, "displayName")) writer.name("displayName").value(player.getDisplayName());
+        if (FieldProjection.includes(fields, "iconImageUri")) {
+            writer.name("iconImageUri").value(player.getIconImageUri() != null ? player.getIconImageUri().toString() : null);
+        }
+        if (FieldProjection.includes(fields, "hiResImageUri")) {
+            writer.name("hiResImageUri").value(player.getHiResImageUri() != null ? player.getHiResImageUri().toString() : null);
+        }
+        if (FieldProjection.includes(fields, "title")) writer.name("title").value(player.getTitle());
+        if (FieldProjection.includes(fields, "levelInfo") && player.getLevelInfo() != null) {
+            writer.name("levelInfo").beginObject()
+                    .name("currentLevel").value(player.getLevelInfo().getCurrentLevel().getLevelNumber())
+                    .name("currentXp").value(player.getLevelInfo().getCurrentXpTotal())
+                    .name("lastLevelUpTimestamp").value(player.getLevelInfo().getLastLevelUpTimestamp())
+                    .endObject();
+        }
+        writer.endObject();
+    }
+
+    private void writeSnapshotMetadata(JsonSink writer, SnapshotMetadata metadata, @Nullable FieldProjection fields) {
+        writer.beginObject();
+        if (FieldProjection.includes(fields, "snapshotId")) writer.name("snapshotId").value(metadata.getSnapshotId());
+        if (FieldProjection.includes(fields, "uniqueName")) writer.name("uniqueName").value(metadata.getUniqueName());
+        if (FieldProjection.includes(fields, "title")) writer.name("title").value(metadata.getGame().getDisplayName());
+        if (FieldProjection.includes(fields, "description")) writer.name("description").value(metadata.getDescription());
+        if (FieldProjection.includes(fields, "lastModifiedTimestamp")) {
+            writer.name("lastModifiedTimestamp").value(metadata.getLastModifiedTimestamp());
+        }
+        if (FieldProjection.includes(fields, "playedTime")) writer.name("playedTime").value(metadata.getPlayedTime());
+        if (FieldProjection.includes(fields, "coverImageUri")) {
+            writer.name("coverImageUri").value(metadata.getCoverImageUri() != null ? metadata.getCoverImageUri().toString() : null);
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Serializes loaded scores as {leaderboard, scores} straight to JSON text, so a large
+     * leaderboard never exists as a tree of JSONObjects. Releases the score buffer.
+     */
+    private String serializeLoadScoresResult(LeaderboardScores result, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
+        JsonWriter writer = JsonWriter.obtain();
+        if (result == null) {
+            return writer.nullValue().toString();
+        }
+        writer.beginObject().name("leaderboard");
+        writeLeaderboard(writer, result.getLeaderboard());
+        writer.name("scores").beginArray();
         LeaderboardScoreBuffer buffer = result.getScores();
         if (buffer != null) {
-            for (LeaderboardScore score : buffer) {
-                scores.put(convertLeaderboardScoreToJson(score));
+            try {
+                for (LeaderboardScore score : buffer) {
+                    writeLeaderboardScore(writer, score, fields);
+                }
+            } finally {
+                buffer.release();
             }
-            buffer.release();
         }
-        json.put("scores", scores);
-        return json;
+        return writer.endArray().endObject().toString();
     }
 
-    private JSONObject convertSnapshotMetadataToJson(SnapshotMetadata metadata) throws JSONException {
-        if (metadata == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("snapshotId", metadata.getSnapshotId());
-        json.put("uniqueName", metadata.getUniqueName());
-        json.put("title", metadata.getGame().getDisplayName());
-        json.put("description", metadata.getDescription());
-        json.put("lastModifiedTimestamp", metadata.getLastModifiedTimestamp());
-        json.put("playedTime", metadata.getPlayedTime());
-        json.put("coverImageUri", metadata.getCoverImageUri() != null ? metadata.getCoverImageUri().toString() : null);
-        return json;
+    /**
+     * Serializes loaded scores as {leaderboard, scores} with the scores in the columnar format.
+     * Releases the score buffer.
+     */
+    private String serializeColumnarScores(LeaderboardScores result, @Nullable FieldProjection fields) throws JSONException {
+        assertOffMainThread();
+        JsonWriter writer = JsonWriter.obtain();
+        if (result == null) {
+            return writer.nullValue().toString();
+        }
+        ColumnarEncoder scores = new ColumnarEncoder();
+        LeaderboardScoreBuffer buffer = result.getScores();
+        if (buffer != null) {
+            try {
+                for (LeaderboardScore score : buffer) {
+                    writeLeaderboardScore(scores.row(), score, fields);
+                }
+            } finally {
+                buffer.release();
+            }
+        }
+        writer.beginObject().name("leaderboard");
+        writeLeaderboard(writer, result.getLeaderboard());
+        writer.name("scores");
+        scores.write(writer);
+        return writer.endObject().toString();
     }
 
-    private JSONObject convertPlayerToJson(Player player) throws JSONException {
-        if (player == null) return null;
-        JSONObject json = new JSONObject();
-        json.put("id", player.getPlayerId());
-        json.put("displayName", player.getDisplayName());
-        json.put("iconImageUri", player.getIconImageUri() != null ? player.getIconImageUri().toString() : null);
-        json.put("hiResImageUri", player.getHiResImageUri() != null ? player.getHiResImageUri().toString() : null);
-        json.put("title", player.getTitle());
-        if (player.getLevelInfo() != null) {
-            JSONObject levelInfo = new JSONObject();
-            levelInfo.put("currentLevel", player.getLevelInfo().getCurrentLevel().getLevelNumber());
-            levelInfo.put("currentXp", player.getLevelInfo().getCurrentXpTotal());
-            levelInfo.put("lastLevelUpTimestamp", player.getLevelInfo().getLastLevelUpTimestamp());
-            json.put("levelInfo", levelInfo);
+    // Sends loaded scores as one object, or as chunks of scores after a leaderboard header.
+    // The fields option projects each score; the leaderboard is always sent whole.
+    // The columnar format is never streamed.
+    private void sendLoadScoresResult(LeaderboardScores result, @Nullable JSONObject options,
+                                      CallbackContext callbackContext) throws JSONException {
+        FieldProjection fields = FieldProjection.from(options);
+        if (ColumnarEncoder.requested(options)) {
+            callbackContext.sendPluginResult(new RawJsonPluginResult(serializeColumnarScores(result, fields)));
+            return;
         }
-        return json;
+        ChunkedResultStream stream = ChunkedResultStream.from(options, callbackContext);
+        if (stream == null) {
+            callbackContext.sendPluginResult(new RawJsonPluginResult(serializeLoadScoresResult(result, fields)));
+            return;
+        }
+        LeaderboardScoreBuffer buffer = result != null ? result.getScores() : null;
+        try {
+            if (result != null) {
+                stream.header("leaderboard", convertLeaderboardToJson(result.getLeaderboard()));
+            }
+            if (buffer != null) {
+                for (LeaderboardScore score : buffer) {
+                    stream.add(convertLeaderboardScoreToJson(score, fields));
+                }
+            }
+        } finally {
+            if (buffer != null) buffer.release();
+        }
+        stream.finish();
     }
 
-    private void loadTopScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    private void loadTopScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults,
+                                     @Nullable final JSONObject options, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getLeaderboardsClient(cordova.getActivity())
                         .loadTopScores(leaderboardId, timeSpan, collection, maxResults)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
                             @Override
                             public void onSuccess(AnnotatedData<LeaderboardScores> data) {
                                 try {
-                                    callbackContext.success(convertLoadScoresResultToJson(data.get()));
+                                    sendLoadScoresResult(data.get(), options, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -1099,23 +2538,24 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadPlayerCenteredScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    private void loadPlayerCenteredScoresAction(String leaderboardId, int timeSpan, int collection, int maxResults,
+                                                @Nullable final JSONObject options, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getLeaderboardsClient(cordova.getActivity())
                         .loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
                             @Override
                             public void onSuccess(AnnotatedData<LeaderboardScores> data) {
                                 try {
-                                    callbackContext.success(convertLoadScoresResultToJson(data.get()));
+                                    sendLoadScoresResult(data.get(), options, callbackContext);
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -1125,33 +2565,61 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
+    private void openScoresAction(String leaderboardId, int timeSpan, int collection, int pageSize, boolean playerCentered, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                leaderboardScorePager.open(PlayGames.getLeaderboardsClient(cordova.getActivity()),
+                        leaderboardId, timeSpan, collection, pageSize, playerCentered, pageCallback(callbackContext));
+            }
+        });
+    }
+
+    private void movePageAction(int cursorId, boolean forward, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
+            @Override
+            public void run() {
+                LeaderboardsClient leaderboardsClient = PlayGames.getLeaderboardsClient(cordova.getActivity());
+                if (forward) {
+                    leaderboardScorePager.next(leaderboardsClient, cursorId, pageCallback(callbackContext));
+                } else {
+                    leaderboardScorePager.prev(leaderboardsClient, cursorId, pageCallback(callbackContext));
+                }
+            }
+        });
+    }
+
+    private LeaderboardScorePager.PageCallback pageCallback(final CallbackContext callbackContext) {
+        return new LeaderboardScorePager.PageCallback() {
+            @Override
+            public void onPage(JSONObject page) {
+                callbackContext.success(page);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                handleError(e, callbackContext);
+            }
+        };
+    }
+
     private void loadAllLeaderboardsMetadataAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        JSONArray cached = leaderboardMetadataCache.getAll();
+        if (cached != null) {
+            callbackContext.success(cached);
+            return;
+        }
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadLeaderboardMetadata(false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<LeaderboardBuffer>>() {
+                loadAllLeaderboardsIntoCache()
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<JSONArray>() {
                             @Override
-                            public void onSuccess(AnnotatedData<LeaderboardBuffer> data) {
-                                LeaderboardBuffer buffer = data.get();
-                                if (buffer == null) {
-                                    callbackContext.success(new JSONArray());
-                                    return;
-                                }
-                                try {
-                                    JSONArray result = new JSONArray();
-                                    for (Leaderboard leaderboard : buffer) {
-                                        result.put(convertLeaderboardToJson(leaderboard));
-                                    }
-                                    buffer.release();
-                                    callbackContext.success(result);
-                                } catch (JSONException e) {
-                                    handleError(e, callbackContext);
-                                }
+                            public void onSuccess(JSONArray result) {
+                                callbackContext.success(result);
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -1162,70 +2630,121 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void loadLeaderboardMetadataAction(String leaderboardId, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        JSONObject cached = leaderboardMetadataCache.get(leaderboardId);
+        if (cached != null) {
+            callbackContext.success(cached);
+            return;
+        }
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
-                PlayGames.getLeaderboardsClient(cordova.getActivity())
-                        .loadLeaderboardMetadata(leaderboardId, false)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<Leaderboard>>() {
+                if (leaderboardMetadataCache.isComplete()) {
+                    loadSingleLeaderboardMetadata(leaderboardId, callbackContext);
+                    return;
+                }
+                // Warm the whole cache with one round trip instead of one per leaderboard.
+                loadAllLeaderboardsIntoCache()
+                        .addOnCompleteListener(callbackExecutor, new OnCompleteListener<JSONArray>() {
                             @Override
-                            public void onSuccess(AnnotatedData<Leaderboard> data) {
-                                Leaderboard leaderboard = data.get();
-                                if (leaderboard == null) {
-                                    callbackContext.error("Leaderboard not found.");
-                                    return;
-                                }
-                                try {
-                                    callbackContext.success(convertLeaderboardToJson(leaderboard));
-                                } catch (JSONException e) {
-                                    handleError(e, callbackContext);
+                            public void onComplete(@NonNull Task<JSONArray> task) {
+                                JSONObject leaderboard = leaderboardMetadataCache.get(leaderboardId);
+                                if (leaderboard != null) {
+                                    callbackContext.success(leaderboard);
+                                } else {
+                                    loadSingleLeaderboardMetadata(leaderboardId, callbackContext);
                                 }
                             }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                handleError(e, callbackContext);
-                            }
                         });
             }
         });
     }
 
+    private void loadSingleLeaderboardMetadata(String leaderboardId, final CallbackContext callbackContext) {
+        PlayGames.getLeaderboardsClient(cordova.getActivity())
+                .loadLeaderboardMetadata(leaderboardId, false)
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<Leaderboard>>() {
+                    @Override
+                    public void onSuccess(AnnotatedData<Leaderboard> data) {
+                        Leaderboard leaderboard = data.get();
+                        if (leaderboard == null) {
+                            callbackContext.error("Leaderboard not found.");
+                            return;
+                        }
+                        try {
+                            JSONObject result = convertLeaderboardToJson(leaderboard);
+                            leaderboardMetadataCache.put(result);
+                            callbackContext.success(result);
+                        } catch (JSONException e) {
+                            handleError(e, callbackContext);
+                        }
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        handleError(e, callbackContext);
+                    }
+                });
+    }
+
+    private Task<JSONArray> loadAllLeaderboardsIntoCache() {
+        return PlayGames.getLeaderboardsClient(cordova.getActivity())
+                .loadLeaderboardMetadata(false)
+                .continueWith(callbackExecutor, new Continuation<AnnotatedData<LeaderboardBuffer>, JSONArray>() {
+                    @Override
+                    public JSONArray then(@NonNull Task<AnnotatedData<LeaderboardBuffer>> task) throws Exception {
+                        if (!task.isSuccessful()) {
+                            throw task.getException();
+                        }
+                        JSONArray result = new JSONArray();
+                        LeaderboardBuffer buffer = task.getResult().get();
+                        if (buffer != null) {
+                            for (Leaderboard leaderboard : buffer) {
+                                result.put(convertLeaderboardToJson(leaderboard));
+                            }
+                            buffer.release();
+                        }
+                        leaderboardMetadataCache.putAll(result);
+                        return result;
+                    }
+                });
+    }
+
     private void deleteSnapshotAction(String snapshotName, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.WRITE, callbackContext, new Runnable() {
             @Override
             public void run() {
+                final String playerId = snapshotMirror != null ? currentPlayerId() : null;
                 SnapshotsClient snapshotsClient = PlayGames.getSnapshotsClient(cordova.getActivity());
-                snapshotsClient.open(snapshotName, false)
-                        .addOnSuccessListener(new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
+                snapshotConflictResolver.open(snapshotsClient, snapshotName, false)
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<Snapshot>() {
                             @Override
-                            public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict) {
-                                if (dataOrConflict.isConflict()) {
-                                    callbackContext.error("Snapshot conflict. Cannot delete.");
-                                    return;
-                                }
-                                Snapshot snapshot = dataOrConflict.getData();
+                            public void onSuccess(Snapshot snapshot) {
                                 if (snapshot == null) {
                                     callbackContext.error("Snapshot not found.");
                                     return;
                                 }
                                 snapshotsClient.delete(snapshot.getMetadata())
-                                        .addOnSuccessListener(new OnSuccessListener<String>() {
+                                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<String>() {
                                             @Override
                                             public void onSuccess(String s) {
+                                                // The mirrored copy goes only once the cloud copy is gone.
+                                                if (playerId != null) {
+                                                    snapshotMirror.delete(playerId, snapshotName);
+                                                }
                                                 callbackContext.success(s);
                                             }
                                         })
-                                        .addOnFailureListener(new OnFailureListener() {
+                                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                                             @Override
                                             public void onFailure(@NonNull Exception e) {
+                                                snapshotsClient.discardAndClose(snapshot);
                                                 handleError(e, callbackContext);
                                             }
                                         });
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -1235,33 +2754,47 @@ public class GPGS extends CordovaPlugin {
         });
     }
 
-    private void loadAllSnapshotsAction(boolean forceReload, final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+    private void loadAllSnapshotsAction(boolean forceReload, @Nullable final JSONObject options, final CallbackContext callbackContext) {
+        runOn(PluginExecutor.Lane.READ, callbackContext, new Runnable() {
             @Override
             public void run() {
                 PlayGames.getSnapshotsClient(cordova.getActivity())
                         .load(forceReload)
-                        .addOnSuccessListener(new OnSuccessListener<AnnotatedData<SnapshotMetadataBuffer>>() {
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<SnapshotMetadataBuffer>>() {
                             @Override
                             public void onSuccess(AnnotatedData<SnapshotMetadataBuffer> data) {
                                 SnapshotMetadataBuffer buffer = data.get();
-                                if (buffer == null) {
+                                ChunkedResultStream stream = ChunkedResultStream.from(options, callbackContext);
+                                if (buffer == null && stream == null) {
                                     callbackContext.success(new JSONArray());
                                     return;
                                 }
                                 try {
-                                    JSONArray result = new JSONArray();
+                                    FieldProjection fields = FieldProjection.from(options);
+                                    if (stream != null) {
+                                        if (buffer == null) {
+                                            stream.finish();
+                                            return;
+                                        }
+                                        for (SnapshotMetadata metadata : buffer) {
+                                            stream.add(convertSnapshotMetadataToJson(metadata, fields));
+                                        }
+                                        buffer.release();
+                                        stream.finish();
+                                        return;
+                                    }
+                                    JsonWriter writer = JsonWriter.obtain().beginArray();
                                     for (SnapshotMetadata metadata : buffer) {
-                                        result.put(convertSnapshotMetadataToJson(metadata));
+                                        writeSnapshotMetadata(writer, metadata, fields);
                                     }
                                     buffer.release();
-                                    callbackContext.success(result);
+                                    callbackContext.sendPluginResult(new RawJsonPluginResult(writer.endArray().toString()));
                                 } catch (JSONException e) {
                                     handleError(e, callbackContext);
                                 }
                             }
                         })
-                        .addOnFailureListener(new OnFailureListener() {
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
                             @Override
                             public void onFailure(@NonNull Exception e) {
                                 handleError(e, callbackContext);
@@ -1272,7 +2805,7 @@ public class GPGS extends CordovaPlugin {
     }
 
     private void initializeAction(final CallbackContext callbackContext) {
-        cordova.getThreadPool().execute(new Runnable() {
+        runOn(PluginExecutor.Lane.INTERACTIVE, callbackContext, new Runnable() {
             @Override
             public void run() {
                 signInSilently();
@@ -1284,6 +2817,15 @@ public class GPGS extends CordovaPlugin {
     }
 
     // Helper: emit sign-in event with detail { isSignedIn: boolean }
+    // Everything cached here belongs to one player, and a sign-in may bring another one.
+    private void clearPlayerCaches() {
+        cachedPlayerId = null;
+        achievementCache.clear();
+        scoreSubmitCoalescer.clear();
+        leaderboardScorePager.clear();
+        playerCache.clear();
+    }
+
     private void emitSignInEvent(boolean isSignedIn) {
         try {
             JSONObject payload = new JSONObject();
@@ -0,0 +1,123 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight layer for read actions.
+ *
+ * Identical reads (same action and arguments) that arrive while one is still pending attach
+ * to it instead of running their own Play Services call. The first call is dispatched with a
+ * fan-out context that forwards its {@link PluginResult}, serialized once, to every caller.
+ */
+final class InFlightReads {
+
+    private static final Set<String> READ_ACTIONS = new HashSet<>(Arrays.asList(
+            "isGooglePlayServicesAvailable",
+            "isSignedIn",
+            "loadAchievements",
+            "loadPlayerScore",
+            "loadTopScores",
+            "loadPlayerCenteredScores",
+            "loadLeaderboardMetadata",
+            "loadAllSnapshots",
+            "getFriendsList",
+            "getPlayer",
+            "getAllEvents",
+            "getEvent"
+    ));
+
+    private final Map<String, FanOutContext> pending = new HashMap<>();
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+
+    boolean isRead(String action) {
+        return READ_ACTIONS.contains(action);
+    }
+
+    /**
+     * Returns the context the read should be dispatched with, or null if the caller has been
+     * attached to an identical read that is already in flight.
+     */
+    synchronized CallbackContext attach(String action, JSONArray args, CallbackContext callbackContext) {
+        reads.incrementAndGet();
+        String key = action + args.toString();
+        FanOutContext inFlight = pending.get(key);
+        if (inFlight != null) {
+            collapsed.incrementAndGet();
+            inFlight.waiters.add(callbackContext);
+            return null;
+        }
+        FanOutContext fanOut = new FanOutContext(key, callbackContext);
+        pending.put(key, fanOut);
+        return fanOut;
+    }
+
+    JSONObject stats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("reads", reads.get());
+        stats.put("collapsed", collapsed.get());
+        synchronized (this) {
+            stats.put("inFlight", pending.size());
+        }
+        return stats;
+    }
+
+    private final class FanOutContext extends CallbackContext {
+
+        private final String key;
+        private final List<CallbackContext> waiters = new ArrayList<>();
+
+        FanOutContext(String key, CallbackContext first) {
+            super(first.getCallbackId(), null);
+            this.key = key;
+            this.waiters.add(first);
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            List<CallbackContext> targets;
+            synchronized (InFlightReads.this) {
+                // Once a read starts streaming, late callers would miss the earlier parts,
+                // so it stops accepting new waiters.
+                if (pending.get(key) == this) {
+                    pending.remove(key);
+                }
+                targets = new ArrayList<>(waiters);
+            }
+            for (CallbackContext waiter : targets) {
+                waiter.sendPluginResult(pluginResult);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+/**
+ * Receives a JSON value as a sequence of calls, so each result is converted by one method
+ * that can produce text with {@link JsonWriter}, a {@code JSONObject} with {@link JsonTree},
+ * or a row of a {@link ColumnarEncoder}.
+ *
+ * As with {@code JSONObject.put}, a null value after a name leaves the member out.
+ */
+interface JsonSink {
+
+    JsonSink beginObject();
+
+    JsonSink endObject();
+
+    JsonSink beginArray();
+
+    JsonSink endArray();
+
+    JsonSink name(String name);
+
+    JsonSink value(String value);
+
+    JsonSink value(long value);
+
+    JsonSink value(double value);
+
+    JsonSink value(boolean value);
+
+    JsonSink nullValue();
+}
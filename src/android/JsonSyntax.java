@@ -0,0 +1,166 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+/**
+ * Checks that text is exactly one well-formed JSON value, without building any objects.
+ *
+ * Used before stored text is handed to the bridge as raw JSON: the bridge parses it with
+ * {@code JSON.parse} in the WebView, and a parse error there is swallowed, so the caller's
+ * promise would never settle.
+ */
+final class JsonSyntax {
+
+    private static final int MAX_DEPTH = 512;
+
+    private JsonSyntax() {
+    }
+
+    static boolean isValid(String text) {
+        int end = value(text, skipWhitespace(text, 0), 0);
+        return end >= 0 && skipWhitespace(text, end) == text.length();
+    }
+
+    // Each method returns the index just past what it read, or -1 if the text is malformed.
+    private static int value(String text, int i, int depth) {
+        if (i >= text.length()) return -1;
+        switch (text.charAt(i)) {
+            case '{':
+                return object(text, i + 1, depth + 1);
+            case '[':
+                return array(text, i + 1, depth + 1);
+            case '"':
+                return string(text, i + 1);
+            case 't':
+                return literal(text, i, "true");
+            case 'f':
+                return literal(text, i, "false");
+            case 'n':
+                return literal(text, i, "null");
+            default:
+                return number(text, i);
+        }
+    }
+
+    private static int object(String text, int i, int depth) {
+        if (depth > MAX_DEPTH) return -1;
+        i = skipWhitespace(text, i);
+        if (i < text.length() && text.charAt(i) == '}') return i + 1;
+        while (true) {
+            if (i >= text.length() || text.charAt(i) != '"') return -1;
+            i = skipWhitespace(text, string(text, i + 1));
+            if (i < 0 || i >= text.length() || text.charAt(i) != ':') return -1;
+            i = value(text, skipWhitespace(text, i + 1), depth);
+            if (i < 0) return -1;
+            i = skipWhitespace(text, i);
+            if (i >= text.length()) return -1;
+            char c = text.charAt(i);
+            if (c == '}') return i + 1;
+            if (c != ',') return -1;
+            i = skipWhitespace(text, i + 1);
+        }
+    }
+
+    private static int array(String text, int i, int depth) {
+        if (depth > MAX_DEPTH) return -1;
+        i = skipWhitespace(text, i);
+        if (i < text.length() && text.charAt(i) == ']') return i + 1;
+        while (true) {
+            i = value(text, i, depth);
+            if (i < 0) return -1;
+            i = skipWhitespace(text, i);
+            if (i >= text.length()) return -1;
+            char c = text.charAt(i);
+            if (c == ']') return i + 1;
+            if (c != ',') return -1;
+            i = skipWhitespace(text, i + 1);
+        }
+    }
+
+    private static int string(String text, int i) {
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i++);
+            if (c == '"') return i;
+            if (c < 0x20) return -1;
+            if (c != '\\') continue;
+            if (i >= length) return -1;
+            char escape = text.charAt(i++);
+            if (escape == 'u') {
+                if (i + 4 > length) return -1;
+                for (int end = i + 4; i < end; i++) {
+                    if (!isHexDigit(text.charAt(i))) return -1;
+                }
+            } else if ("\"\\/bfnrt".indexOf(escape) < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int number(String text, int i) {
+        int length = text.length();
+        if (i < length && text.charAt(i) == '-') i++;
+        if (i >= length) return -1;
+        if (text.charAt(i) == '0') {
+            i++;
+        } else {
+            int start = i;
+            i = digits(text, i);
+            if (i == start) return -1;
+        }
+        if (i < length && text.charAt(i) == '.') {
+            int start = ++i;
+            i = digits(text, i);
+            if (i == start) return -1;
+        }
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) i++;
+            int start = i;
+            i = digits(text, i);
+            if (i == start) return -1;
+        }
+        return i;
+    }
+
+    private static int digits(String text, int i) {
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') i++;
+        return i;
+    }
+
+    private static int literal(String text, int i, String word) {
+        return text.startsWith(word, i) ? i + word.length() : -1;
+    }
+
+    private static int skipWhitespace(String text, int i) {
+        if (i < 0) return i;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') break;
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
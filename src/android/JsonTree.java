@@ -0,0 +1,132 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@code JSONObject}s and {@code JSONArray}s from {@link JsonSink} calls, for results
+ * that must stay objects, such as cache entries that are updated in place and streamed chunks.
+ */
+final class JsonTree implements JsonSink {
+
+    // The open objects and arrays, innermost last.
+    private final List<Object> open = new ArrayList<>();
+    private String pendingName;
+    private Object result;
+
+    @Override
+    public JsonTree beginObject() {
+        JSONObject object = new JSONObject();
+        add(object);
+        open.add(object);
+        return this;
+    }
+
+    @Override
+    public JsonTree endObject() {
+        open.remove(open.size() - 1);
+        return this;
+    }
+
+    @Override
+    public JsonTree beginArray() {
+        JSONArray array = new JSONArray();
+        add(array);
+        open.add(array);
+        return this;
+    }
+
+    @Override
+    public JsonTree endArray() {
+        open.remove(open.size() - 1);
+        return this;
+    }
+
+    @Override
+    public JsonTree name(String name) {
+        pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonTree value(String value) {
+        return value == null ? nullValue() : add(value);
+    }
+
+    @Override
+    public JsonTree value(long value) {
+        return add(value);
+    }
+
+    @Override
+    public JsonTree value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Numbers must be finite in JSON: " + value);
+        }
+        return add(value);
+    }
+
+    @Override
+    public JsonTree value(boolean value) {
+        return add(value);
+    }
+
+    @Override
+    public JsonTree nullValue() {
+        if (pendingName != null) {
+            pendingName = null;
+            return this;
+        }
+        return add(open.isEmpty() ? null : JSONObject.NULL);
+    }
+
+    /**
+     * Returns the object that was built, or null if the top-level value was not an object.
+     */
+    JSONObject object() {
+        return result instanceof JSONObject ? (JSONObject) result : null;
+    }
+
+    private JsonTree add(Object value) {
+        if (open.isEmpty()) {
+            result = value;
+            return this;
+        }
+        Object parent = open.get(open.size() - 1);
+        if (parent instanceof JSONArray) {
+            ((JSONArray) parent).put(value);
+            return this;
+        }
+        try {
+            ((JSONObject) parent).put(pendingName, value);
+        } catch (JSONException e) {
+            // Only a null name can get here; numbers were checked above.
+            throw new IllegalStateException("Value without a name in a JSON object.", e);
+        } finally {
+            pendingName = null;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.exelerus.cordova.plugin;
+
+/**
+ * Minimal JSON writer that appends straight to a {@link StringBuilder}.
+ *
+ * Large results are written field by field instead of being built as a tree of
+ * {@code JSONObject}s that Cordova then serializes, and are sent with
+ * {@link RawJsonPluginResult}. Each thread reuses one writer through {@link #obtain()}, so
+ * the buffer is allocated once and only grows for the largest result seen so far.
+ *
+ * Like {@code JSONObject.put}, a null value leaves its key out: a name is only written
+ * together with the value that follows it.
+ */
+final class JsonWriter implements JsonSink {
+
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<JsonWriter> WRITERS = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+            return new JsonWriter();
+        }
+    };
+    private static final ThreadLocal<JsonWriter> SCRATCH_WRITERS = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+            return new JsonWriter();
+        }
+    };
+
+    private StringBuilder out = new StringBuilder(1024);
+    // Per nesting level: whether a value has been written, so the next one needs a comma.
+    private final boolean[] hasValue = new boolean[MAX_DEPTH];
+    // Per nesting level: where the open object or array starts.
+    private final int[] openedAt = new int[MAX_DEPTH];
+    private int lastClosedAt = 0;
+    private int depth = 0;
+    // Name of the next member, written by the value that follows it.
+    private String pendingName;
+
+    /**
+     * Returns this thread's writer, emptied. The result must be taken with {@link #toString()}
+     * before the writer is obtained again on the same thread.
+     */
+    static JsonWriter obtain() {
+        JsonWriter writer = WRITERS.get();
+        writer.reset();
+        return writer;
+    }
+
+    /**
+     * Returns this thread's second writer, emptied, for a short conversion made while the
+     * writer from {@link #obtain()} is still in use.
+     */
+    static JsonWriter scratch() {
+        JsonWriter writer = SCRATCH_WRITERS.get();
+        writer.reset();
+        return writer;
+    }
+
+    @Override
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    @Override
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    @Override
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    @Override
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    @Override
+    public JsonWriter name(String name) {
+        pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        string(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Numbers must be finite in JSON: " + value);
+        }
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Writes null in an array or at the top level; after a name, leaves the member out.
+     */
+    @Override
+    public JsonWriter nullValue() {
+        if (pendingName != null) {
+            pendingName = null;
+            return this;
+        }
+        separate();
+        out.append("null");
+        return this;
+    }
+
+    /**
+     * Returns the text of the object or array that the end call just made closed, so a value
+     * can be kept, e.g. cached, in the same pass that writes it. Nothing may be written in between.
+     */
+    String lastClosed() {
+        return out.substring(lastClosedAt);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void reset() {
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            // Don't keep an unusually large buffer alive on a pool thread.
+            out = new StringBuilder(1024);
+        } else {
+            out.setLength(0);
+        }
+        depth = 0;
+        lastClosedAt = 0;
+        pendingName = null;
+    }
+
+    private JsonWriter open(char bracket) {
+        separate();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nesting too deep.");
+        }
+        openedAt[depth] = out.length();
+        hasValue[depth++] = false;
+        out.append(bracket);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        lastClosedAt = openedAt[--depth];
+        out.append(bracket);
+        return this;
+    }
+
+    private void separate() {
+        if (depth > 0) {
+            if (hasValue[depth - 1]) {
+                out.append(',');
+            }
+            hasValue[depth - 1] = true;
+        }
+        if (pendingName != null) {
+            string(pendingName);
+            out.append(':');
+            pendingName = null;
+        }
+    }
+
+    private void string(String value) {
+        out.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape;
+            if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else if (c == '\n') {
+                escape = "\\n";
+            } else if (c == '\r') {
+                escape = "\\r";
+            } else if (c == '\t') {
+                escape = "\\t";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                escape = null;
+            } else {
+                continue;
+            }
+            out.append(value, start, i);
+            if (escape != null) {
+                out.append(escape);
+            } else {
+                out.append("\\u")
+                        .append(HEX[(c >> 12) & 0xf]).append(HEX[(c >> 8) & 0xf])
+                        .append(HEX[(c >> 4) & 0xf]).append(HEX[c & 0xf]);
+            }
+            start = i + 1;
+        }
+        out.append(value, start, length);
+        out.append('"');
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of converted leaderboard metadata, keyed by leaderboard id.
+ *
+ * A complete load of all leaderboards marks the cache as warm, so the "all leaderboards"
+ * query can be answered from memory until the cache is invalidated or an entry is evicted.
+ */
+final class LeaderboardMetadataCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, JSONObject> entries;
+    private String[] allIds = new String[0];
+    private boolean complete = false;
+
+    LeaderboardMetadataCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, JSONObject>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JSONObject> eldest) {
+                if (size() > LeaderboardMetadataCache.this.maxEntries) {
+                    complete = false;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized JSONObject get(String leaderboardId) {
+        return entries.get(leaderboardId);
+    }
+
+    synchronized void put(JSONObject leaderboard) {
+        if (leaderboard == null) return;
+        entries.put(leaderboard.optString("leaderboardId"), leaderboard);
+    }
+
+    /**
+     * Replaces the cache contents with the result of an all-leaderboards load.
+     */
+    synchronized void putAll(JSONArray leaderboards) {
+        entries.clear();
+        allIds = new String[leaderboards.length()];
+        for (int i = 0; i < leaderboards.length(); i++) {
+            JSONObject leaderboard = leaderboards.optJSONObject(i);
+            allIds[i] = leaderboard != null ? leaderboard.optString("leaderboardId") : null;
+            put(leaderboard);
+        }
+        complete = leaderboards.length() <= maxEntries;
+    }
+
+    /**
+     * Returns every leaderboard, in load order, if the cache holds the complete set; null otherwise.
+     */
+    synchronized JSONArray getAll() {
+        if (!complete) return null;
+        JSONArray result = new JSONArray();
+        for (String leaderboardId : allIds) {
+            JSONObject leaderboard = leaderboardId != null ? entries.get(leaderboardId) : null;
+            if (leaderboard != null) result.put(leaderboard);
+        }
+        return result;
+    }
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    synchronized void invalidate(String leaderboardId) {
+        if (leaderboardId == null) {
+            entries.clear();
+        } else {
+            entries.remove(leaderboardId);
+        }
+        complete = false;
+    }
+}
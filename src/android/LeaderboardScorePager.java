@@ -0,0 +1,419 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.games.AnnotatedData;
+import com.google.android.gms.games.LeaderboardsClient;
+import com.google.android.gms.games.LeaderboardsClient.LeaderboardScores;
+import com.google.android.gms.games.leaderboard.Leaderboard;
+import com.google.android.gms.games.leaderboard.LeaderboardScore;
+import com.google.android.gms.games.leaderboard.LeaderboardScoreBuffer;
+import com.google.android.gms.games.PageDirection;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursor-based paging over leaderboard scores.
+ *
+ * Cursors on the same leaderboard, time span, collection, mode and page size share one cache
+ * entry. The entry keeps the native {@link LeaderboardScoreBuffer}, so a new page is fetched
+ * with {@link LeaderboardsClient#loadMoreScores} and only the new rows are converted, and
+ * every page converted so far, so moving back and forth or reopening a cursor is served from
+ * memory. Loads on a shared buffer are serialized per entry.
+ *
+ * Cursors that are left unused for longer than the idle timeout are closed, so a cursor the
+ * game never closed cannot pin its entry's buffer.
+ */
+final class LeaderboardScorePager {
+
+    interface Converter {
+        JSONObject convertLeaderboard(Leaderboard leaderboard) throws JSONException;
+        JSONObject convertScore(LeaderboardScore score) throws JSONException;
+    }
+
+    interface PageCallback {
+        void onPage(JSONObject page);
+        void onError(Exception e);
+    }
+
+    private static final int MAX_ENTRIES = 4;
+    private static final long ENTRY_TTL_MS = 60000;
+    private static final long CURSOR_IDLE_TIMEOUT_MS = 120000;
+
+    private static final class Entry {
+        LeaderboardScoreBuffer buffer;
+        JSONObject leaderboard;
+        final Map<Integer, JSONArray> pages = new HashMap<>();
+        int firstPage = 0;
+        int lastPage = -1;
+        int cursors = 0;
+        long loadedAt = -1;
+
+        final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        boolean busy = false;
+        // Set when the entry was dropped while a load was running; released once it is done.
+        boolean dropped = false;
+    }
+
+    private static final class Cursor {
+        final Entry entry;
+        final int pageSize;
+        int page = 0;
+        long lastUsed;
+
+        Cursor(Entry entry, int pageSize) {
+            this.entry = entry;
+            this.pageSize = pageSize;
+            this.lastUsed = SystemClock.elapsedRealtime();
+        }
+    }
+
+    private final Converter converter;
+    private final Executor callbackExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Cursor> cursors = new HashMap<>();
+    private int nextCursorId = 1;
+    private boolean reapScheduled = false;
+
+    LeaderboardScorePager(Converter converter, Executor callbackExecutor, ScheduledExecutorService scheduler) {
+        this.converter = converter;
+        this.callbackExecutor = callbackExecutor;
+        this.scheduler = scheduler;
+    }
+
+    void open(final LeaderboardsClient client, final String leaderboardId, final int timeSpan, final int collection,
+              final int pageSize, final boolean playerCentered, final PageCallback callback) {
+        final int cursorId;
+        final Cursor cursor;
+        synchronized (this) {
+            String key = leaderboardId + "|" + timeSpan + "|" + collection + "|" + pageSize + "|" + playerCentered;
+            Entry entry = entries.get(key);
+            if (entry == null || (entry.cursors == 0 && entry.loadedAt >= 0
+                    && SystemClock.elapsedRealtime() - entry.loadedAt > ENTRY_TTL_MS)) {
+                if (entry != null) drop(entry);
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+            entry.cursors++;
+            cursor = new Cursor(entry, pageSize);
+            cursorId = nextCursorId++;
+            cursors.put(cursorId, cursor);
+            evict();
+            scheduleReap();
+        }
+
+        final Entry entry = cursor.entry;
+        runExclusive(entry, new Runnable() {
+            @Override
+            public void run() {
+                if (entry.pages.containsKey(0)) {
+                    deliver(cursorId, cursor, callback);
+                    done(entry);
+                    return;
+                }
+                Task<AnnotatedData<LeaderboardScores>> load = playerCentered
+                        ? client.loadPlayerCenteredScores(leaderboardId, timeSpan, collection, pageSize)
+                        : client.loadTopScores(leaderboardId, timeSpan, collection, pageSize);
+                load.addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                    @Override
+                    public void onSuccess(AnnotatedData<LeaderboardScores> data) {
+                        try {
+                            LeaderboardScores result = data.get();
+                            synchronized (LeaderboardScorePager.this) {
+                                entry.leaderboard = result != null ? converter.convertLeaderboard(result.getLeaderboard()) : null;
+                                entry.buffer = result != null ? result.getScores() : null;
+                                entry.pages.put(0, convertRows(entry.buffer, 0, count(entry.buffer)));
+                                entry.firstPage = 0;
+                                entry.lastPage = 0;
+                                entry.loadedAt = SystemClock.elapsedRealtime();
+                            }
+                            deliver(cursorId, cursor, callback);
+                        } catch (JSONException e) {
+                            close(cursorId);
+                            callback.onError(e);
+                        } finally {
+                            done(entry);
+                        }
+                    }
+                }).addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        close(cursorId);
+                        done(entry);
+                        callback.onError(e);
+                    }
+                });
+            }
+        });
+    }
+
+    void next(LeaderboardsClient client, int cursorId, PageCallback callback) {
+        move(client, cursorId, PageDirection.NEXT, callback);
+    }
+
+    void prev(LeaderboardsClient client, int cursorId, PageCallback callback) {
+        move(client, cursorId, PageDirection.PREV, callback);
+    }
+
+    synchronized void close(int cursorId) {
+        Cursor cursor = cursors.remove(cursorId);
+        if (cursor == null) return;
+        cursor.entry.cursors--;
+        evict();
+    }
+
+    /**
+     * Drops every cursor and cached page, e.g. when the player changes.
+     */
+    synchronized void clear() {
+        cursors.clear();
+        for (Entry entry : entries.values()) {
+            drop(entry);
+        }
+        entries.clear();
+    }
+
+    private void move(final LeaderboardsClient client, final int cursorId, final int direction, final PageCallback callback) {
+        final Cursor cursor;
+        synchronized (this) {
+            cursor = cursors.get(cursorId);
+            if (cursor != null) {
+                cursor.lastUsed = SystemClock.elapsedRealtime();
+            }
+        }
+        if (cursor == null) {
+            callback.onError(new IllegalArgumentException("Unknown or closed cursor: " + cursorId));
+            return;
+        }
+
+        final Entry entry = cursor.entry;
+        runExclusive(entry, new Runnable() {
+            @Override
+            public void run() {
+                final int target = cursor.page + (direction == PageDirection.NEXT ? 1 : -1);
+                final LeaderboardScoreBuffer buffer;
+                synchronized (LeaderboardScorePager.this) {
+                    if (entry.pages.containsKey(target)) {
+                        cursor.page = target;
+                        buffer = null;
+                    } else {
+                        buffer = entry.buffer;
+                    }
+                }
+                if (buffer == null) {
+                    // Either a cached page or an empty leaderboard: nothing to fetch.
+                    deliver(cursorId, cursor, callback);
+                    done(entry);
+                    return;
+                }
+
+                final int previousCount = buffer.getCount();
+                client.loadMoreScores(buffer, cursor.pageSize, direction)
+                        .addOnSuccessListener(callbackExecutor, new OnSuccessListener<AnnotatedData<LeaderboardScores>>() {
+                            @Override
+                            public void onSuccess(AnnotatedData<LeaderboardScores> data) {
+                                try {
+                                    LeaderboardScores result = data.get();
+                                    LeaderboardScoreBuffer expanded = result != null ? result.getScores() : null;
+                                    int added = Math.max(0, count(expanded) - previousCount);
+                                    if (added == 0) {
+                                        // Reached the end in this direction; stay on the current page.
+                                        if (expanded != null && expanded != buffer) expanded.release();
+                                        deliverEmpty(cursorId, cursor, callback);
+                                        return;
+                                    }
+                                    // The new buffer holds the old rows plus the new page at one end.
+                                    int from = direction == PageDirection.NEXT ? previousCount : 0;
+                                    JSONArray rows = convertRows(expanded, from, from + added);
+                                    synchronized (LeaderboardScorePager.this) {
+                                        if (entry.buffer != expanded) {
+                                            entry.buffer.release();
+                                            entry.buffer = expanded;
+                                        }
+                                        entry.pages.put(target, rows);
+                                        if (direction == PageDirection.NEXT) {
+                                            entry.lastPage = target;
+                                        } else {
+                                            entry.firstPage = target;
+                                        }
+                                        cursor.page = target;
+                                    }
+                                    deliver(cursorId, cursor, callback);
+                                } catch (JSONException e) {
+                                    callback.onError(e);
+                                } finally {
+                                    done(entry);
+                                }
+                            }
+                        })
+                        .addOnFailureListener(callbackExecutor, new OnFailureListener() {
+                            @Override
+                            public void onFailure(@NonNull Exception e) {
+                                done(entry);
+                                callback.onError(e);
+                            }
+                        });
+            }
+        });
+    }
+
+    private void deliver(int cursorId, Cursor cursor, PageCallback callback) {
+        JSONArray scores;
+        synchronized (this) {
+            scores = cursor.entry.pages.get(cursor.page);
+        }
+        callback.onPage(page(cursorId, cursor, scores != null ? scores : new JSONArray()));
+    }
+
+    private void deliverEmpty(int cursorId, Cursor cursor, PageCallback callback) {
+        callback.onPage(page(cursorId, cursor, new JSONArray()));
+    }
+
+    private JSONObject page(int cursorId, Cursor cursor, JSONArray scores) {
+        JSONObject page = new JSONObject();
+        try {
+            page.put("cursorId", cursorId);
+            page.put("page", cursor.page);
+            page.put("leaderboard", cursor.entry.leaderboard);
+            page.put("scores", scores);
+        } catch (JSONException ignored) { }
+        return page;
+    }
+
+    private JSONArray convertRows(LeaderboardScoreBuffer buffer, int from, int to) throws JSONException {
+        JSONArray rows = new JSONArray();
+        for (int i = from; i < to; i++) {
+            rows.put(converter.convertScore(buffer.get(i)));
+        }
+        return rows;
+    }
+
+    private static int count(LeaderboardScoreBuffer buffer) {
+        return buffer != null ? buffer.getCount() : 0;
+    }
+
+    private void runExclusive(Entry entry, Runnable step) {
+        synchronized (this) {
+            if (entry.busy) {
+                entry.queue.add(step);
+                return;
+            }
+            entry.busy = true;
+        }
+        step.run();
+    }
+
+    private void done(Entry entry) {
+        Runnable next;
+        synchronized (this) {
+            next = entry.queue.poll();
+            if (next == null) {
+                entry.busy = false;
+                if (entry.dropped) {
+                    releaseEntry(entry);
+                }
+                return;
+            }
+        }
+        next.run();
+    }
+
+    // Must be called while holding the pager lock. Entries with open cursors are never evicted.
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > MAX_ENTRIES && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.cursors == 0 && !entry.busy) {
+                releaseEntry(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void reap() {
+        synchronized (this) {
+            reapScheduled = false;
+            long now = SystemClock.elapsedRealtime();
+            Iterator<Cursor> iterator = cursors.values().iterator();
+            while (iterator.hasNext()) {
+                Cursor cursor = iterator.next();
+                if (now - cursor.lastUsed >= CURSOR_IDLE_TIMEOUT_MS) {
+                    iterator.remove();
+                    cursor.entry.cursors--;
+                }
+            }
+            evict();
+            scheduleReap();
+        }
+    }
+
+    // Must be called while holding the pager lock.
+    private void scheduleReap() {
+        if (reapScheduled || cursors.isEmpty()) return;
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    reap();
+                }
+            }, CURSOR_IDLE_TIMEOUT_MS / 2, TimeUnit.MILLISECONDS);
+            reapScheduled = true;
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; the buffers go with the plugin.
+        }
+    }
+
+    // Must be called while holding the pager lock.
+    private static void drop(Entry entry) {
+        if (entry.busy) {
+            // A load may still be reading the buffer; done() releases it.
+            entry.dropped = true;
+        } else {
+            releaseEntry(entry);
+        }
+    }
+
+    private static void releaseEntry(Entry entry) {
+        if (entry.buffer != null) {
+            entry.buffer.release();
+            entry.buffer = null;
+        }
+        entry.pages.clear();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only on-disk journal for fire-and-forget writes made while the player is signed out.
+ *
+ * Record layout: payload length (int), payload, CRC32 of the payload (int). The payload is
+ * the entry type (byte), the UTF-8 id length (short), the id bytes and the value (long).
+ * A torn record at the end of the file (process killed mid-write) fails the length or CRC
+ * check and is cut off the next time the journal is read.
+ *
+ * Replayed writes stay in the journal until they are acknowledged, so a crash during replay
+ * sends them again on the next one instead of losing them.
+ */
+final class OutboxJournal {
+
+    static final byte TYPE_UNLOCK_ACHIEVEMENT = 1;
+    static final byte TYPE_INCREMENT_ACHIEVEMENT = 2;
+    static final byte TYPE_SET_STEPS_IN_ACHIEVEMENT = 3;
+    static final byte TYPE_SUBMIT_SCORE = 4;
+    static final byte TYPE_INCREMENT_EVENT = 5;
+
+    private static final int HEADER_SIZE = 4;
+    private static final int TRAILER_SIZE = 4;
+    private static final int MAX_PAYLOAD_SIZE = 1 + 2 + 0xFFFF + 8;
+    private static final long COMPACTION_THRESHOLD = 64 * 1024;
+
+    static final class Entry {
+        final byte type;
+        final String id;
+        final long value;
+
+        Entry(byte type, String id, long value) {
+            this.type = type;
+            this.id = id;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Coalesced writes handed out for replay, and the journal length they cover.
+     */
+    static final class Batch {
+        final List<Entry> entries;
+        final long length;
+
+        Batch(List<Entry> entries, long length) {
+            this.entries = entries;
+            this.length = length;
+        }
+    }
+
+    private final File file;
+    private FileChannel channel;
+    private long compactAt = COMPACTION_THRESHOLD;
+    // While a batch is being replayed the journal is only appended to, never compacted, so
+    // the records the batch covers stay at the start of the file.
+    private boolean replaying = false;
+
+    OutboxJournal(File file) {
+        this.file = file;
+    }
+
+    synchronized void append(byte type, String id, long value) throws IOException {
+        FileChannel journal = open();
+        ByteBuffer record = encode(type, id, value);
+        journal.write(record, journal.size());
+        journal.force(false);
+        if (!replaying && journal.size() > compactAt) {
+            compact();
+            // Scores are never merged away, so back off to avoid compacting on every append.
+            compactAt = Math.max(COMPACTION_THRESHOLD, open().size() * 2);
+        }
+    }
+
+    /**
+     * Returns all journaled writes, coalesced, or null if another replay is still running.
+     * The writes stay in the journal until {@link #acknowledge} is called for the batch.
+     */
+    synchronized Batch beginReplay() throws IOException {
+        if (replaying) return null;
+        List<Entry> entries = coalesce(read());
+        replaying = true;
+        return new Batch(entries, open().size());
+    }
+
+    /**
+     * Ends a replay: removes the batch from the journal, except for the unsent entries, and
+     * keeps everything appended since the batch was read.
+     */
+    synchronized void acknowledge(Batch batch, List<Entry> unsent) throws IOException {
+        try {
+            FileChannel journal = open();
+            ByteBuffer appended = ByteBuffer.allocate((int) Math.max(0, journal.size() - batch.length));
+            while (appended.hasRemaining() && journal.read(appended, batch.length + appended.position()) > 0) {
+                // keep reading until the tail is complete
+            }
+            appended.flip();
+            rewrite(unsent, appended);
+        } finally {
+            replaying = false;
+        }
+    }
+
+    synchronized boolean isEmpty() throws IOException {
+        return open().size() == 0;
+    }
+
+    synchronized void close() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) { }
+        channel = null;
+    }
+
+    /**
+     * Rewrites the journal with the coalesced entries through a temporary file, so a crash
+     * during compaction leaves either the old or the new journal in place.
+     */
+    private void compact() throws IOException {
+        rewrite(coalesce(read()), null);
+    }
+
+    private void rewrite(List<Entry> entries, ByteBuffer tail) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileChannel out = new FileOutputStream(tmp, false).getChannel()) {
+            for (Entry entry : entries) {
+                out.write(encode(entry.type, entry.id, entry.value));
+            }
+            if (tail != null) {
+                while (tail.hasRemaining()) {
+                    out.write(tail);
+                }
+            }
+            out.force(true);
+        }
+        close();
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    private List<Entry> read() throws IOException {
+        FileChannel journal = open();
+        long size = journal.size();
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0;
+        while (position + HEADER_SIZE + TRAILER_SIZE <= size) {
+            header.clear();
+            journal.read(header, position);
+            int length = header.getInt(0);
+            if (length <= 0 || length > MAX_PAYLOAD_SIZE || position + HEADER_SIZE + length + TRAILER_SIZE > size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length + TRAILER_SIZE);
+            journal.read(record, position + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, length);
+            if ((int) crc.getValue() != record.getInt(length)) {
+                break;
+            }
+            record.position(0);
+            byte type = record.get();
+            byte[] id = new byte[record.getShort() & 0xFFFF];
+            record.get(id);
+            entries.add(new Entry(type, new String(id, StandardCharsets.UTF_8), record.getLong()));
+            position += HEADER_SIZE + length + TRAILER_SIZE;
+        }
+        if (position < size) {
+            // Drop the torn tail so new records are appended after the last valid one.
+            journal.truncate(position);
+        }
+        return entries;
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = new RandomAccessFile(file, "rw").getChannel();
+        }
+        return channel;
+    }
+
+    private static ByteBuffer encode(byte type, String id, long value) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Id too long: " + id);
+        }
+        int length = 1 + 2 + idBytes.length + 8;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length + TRAILER_SIZE);
+        record.putInt(length);
+        record.put(type);
+        record.putShort((short) idBytes.length);
+        record.put(idBytes);
+        record.putLong(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_SIZE, length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Keeps the journal order per achievement and event id. Repeated unlocks are dropped, and
+     * a write is merged into the previous write for the same id only if both have the same
+     * type: increments are summed and setSteps keeps the highest value. Scores are kept as
+     * they are, since their order depends on the leaderboard.
+     */
+    private static List<Entry> coalesce(List<Entry> entries) {
+        List<Entry> ordered = new ArrayList<>(entries.size());
+        // Index in ordered of the last write per achievement or event id.
+        Map<String, Integer> last = new HashMap<>();
+        Set<String> unlocked = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.type == TYPE_SUBMIT_SCORE) {
+                ordered.add(entry);
+                continue;
+            }
+            if (entry.type == TYPE_UNLOCK_ACHIEVEMENT && !unlocked.add(entry.id)) {
+                continue;
+            }
+            String key = (entry.type == TYPE_INCREMENT_EVENT ? "event:" : "achievement:") + entry.id;
+            Integer index = last.get(key);
+            Entry previous = index != null ? ordered.get(index) : null;
+            if (previous != null && previous.type == entry.type && entry.type != TYPE_UNLOCK_ACHIEVEMENT) {
+                long value = entry.type == TYPE_SET_STEPS_IN_ACHIEVEMENT
+                        ? Math.max(previous.value, entry.value)
+                        : previous.value + entry.value;
+                ordered.set(index, new Entry(entry.type, entry.id, value));
+            } else {
+                last.put(key, ordered.size());
+                ordered.add(entry);
+            }
+        }
+        return ordered;
+    }
+}
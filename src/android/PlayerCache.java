@@ -0,0 +1,117 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.Task;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * LRU cache of players as JSON text, keyed by player id, with a TTL and single-flight loading:
+ * concurrent requests for the same player share one in-flight load.
+ *
+ * Players are kept as the text {@link JsonWriter} wrote for them, so a cached player is sent
+ * to JS as-is and caching one costs a single string.
+ */
+final class PlayerCache {
+
+    interface Loader {
+        Task<String> load(String playerId, boolean forceReload);
+    }
+
+    private static final class Cached {
+        final String player;
+        final long storedAt;
+
+        Cached(String player) {
+            this.player = player;
+            this.storedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    private final long ttlMs;
+    private final Executor callbackExecutor;
+    private final LinkedHashMap<String, Cached> players;
+    private final Map<String, Task<String>> inFlight = new HashMap<>();
+
+    PlayerCache(final int maxEntries, long ttlMs, Executor callbackExecutor) {
+        this.ttlMs = ttlMs;
+        this.callbackExecutor = callbackExecutor;
+        this.players = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached player, or null if it is missing or older than the TTL.
+     */
+    synchronized String get(String playerId) {
+        Cached cached = players.get(playerId);
+        if (cached == null) return null;
+        if (SystemClock.elapsedRealtime() - cached.storedAt > ttlMs) {
+            players.remove(playerId);
+            return null;
+        }
+        return cached.player;
+    }
+
+    synchronized void put(String playerId, String player) {
+        if (playerId == null || player == null) return;
+        players.put(playerId, new Cached(player));
+    }
+
+    /**
+     * Returns the in-flight load for the player, or starts one with the loader.
+     */
+    synchronized Task<String> load(final String playerId, boolean forceReload, Loader loader) {
+        Task<String> pending = inFlight.get(playerId);
+        if (pending != null) return pending;
+
+        Task<String> task = loader.load(playerId, forceReload);
+        inFlight.put(playerId, task);
+        task.addOnCompleteListener(callbackExecutor, new OnCompleteListener<String>() {
+            @Override
+            public void onComplete(@NonNull Task<String> completed) {
+                synchronized (PlayerCache.this) {
+                    inFlight.remove(playerId);
+                    if (completed.isSuccessful()) {
+                        Cached cached = new Cached(completed.getResult());
+                        players.put(playerId, cached);
+                    }
+                }
+            }
+        });
+        return task;
+    }
+
+    synchronized void clear() {
+        players.clear();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plugin-owned executor with one bounded pool per priority lane.
+ *
+ * Each lane has its own threads, so a backlog of background writes can never delay the
+ * actions that open Play Games screens. Work is never run on the calling thread, which is
+ * the Cordova bridge or the main thread: a lane whose queue is full rejects the task. The
+ * write lane spills into a larger queue first, since writes are cheap to hold; progress
+ * writes it still rejects are journaled by the plugin instead of being dropped.
+ *
+ * Task listeners run on a separate callback pool with an unbounded queue: they complete
+ * work that has already been accepted, so they must never be rejected.
+ */
+final class PluginExecutor {
+
+    enum Lane {
+        INTERACTIVE,
+        READ,
+        WRITE
+    }
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final int CALLBACK_THREADS = 2;
+    private static final int WRITE_SPILL_FACTOR = 4;
+
+    private static final class LaneStats {
+        final AtomicLong executed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong totalWaitMs = new AtomicLong();
+        final AtomicLong maxWaitMs = new AtomicLong();
+    }
+
+    private final Map<Lane, ThreadPoolExecutor> pools = new EnumMap<>(Lane.class);
+    private final Map<Lane, LaneStats> stats = new EnumMap<>(Lane.class);
+    private final ThreadPoolExecutor callbacks;
+
+    PluginExecutor(int readConcurrency, int writeConcurrency, int queueCapacity) {
+        pools.put(Lane.INTERACTIVE, createPool(Lane.INTERACTIVE, 1, queueCapacity, new ThreadPoolExecutor.AbortPolicy()));
+        pools.put(Lane.READ, createPool(Lane.READ, readConcurrency, queueCapacity, new ThreadPoolExecutor.AbortPolicy()));
+        pools.put(Lane.WRITE, createPool(Lane.WRITE, writeConcurrency, queueCapacity * WRITE_SPILL_FACTOR, new ThreadPoolExecutor.AbortPolicy()));
+        for (Lane lane : Lane.values()) {
+            stats.put(lane, new LaneStats());
+        }
+        final AtomicInteger callbackThreadCount = new AtomicInteger();
+        callbacks = new ThreadPoolExecutor(CALLBACK_THREADS, CALLBACK_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "gpgs-callback-" + callbackThreadCount.incrementAndGet());
+            }
+        });
+        callbacks.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executor for Task listeners, so result conversion never runs on the main thread.
+     */
+    Executor callbackExecutor() {
+        return callbacks;
+    }
+
+    /**
+     * Runs the task on the lane's pool.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the lane's queue is full
+     */
+    void execute(final Lane lane, final Runnable task) {
+        final LaneStats laneStats = stats.get(lane);
+        final long enqueuedAt = SystemClock.elapsedRealtime();
+        try {
+            pools.get(lane).execute(new Runnable() {
+                @Override
+                public void run() {
+                    long waitMs = SystemClock.elapsedRealtime() - enqueuedAt;
+                    laneStats.executed.incrementAndGet();
+                    laneStats.totalWaitMs.addAndGet(waitMs);
+                    long max;
+                    while (waitMs > (max = laneStats.maxWaitMs.get())
+                            && !laneStats.maxWaitMs.compareAndSet(max, waitMs)) {
+                        // retry until the maximum is updated
+                    }
+                    task.run();
+                }
+            });
+        } catch (RuntimeException e) {
+            laneStats.rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    JSONObject stats() throws JSONException {
+        JSONObject result = new JSONObject();
+        for (Lane lane : Lane.values()) {
+            ThreadPoolExecutor pool = pools.get(lane);
+            LaneStats laneStats = stats.get(lane);
+            long executed = laneStats.executed.get();
+            JSONObject json = new JSONObject();
+            json.put("concurrency", pool.getMaximumPoolSize());
+            json.put("active", pool.getActiveCount());
+            json.put("queued", pool.getQueue().size());
+            json.put("executed", executed);
+            json.put("rejected", laneStats.rejected.get());
+            json.put("averageWaitMs", executed > 0 ? laneStats.totalWaitMs.get() / executed : 0);
+            json.put("maxWaitMs", laneStats.maxWaitMs.get());
+            result.put(lane.name().toLowerCase(), json);
+        }
+        JSONObject callbackStats = new JSONObject();
+        callbackStats.put("active", callbacks.getActiveCount());
+        callbackStats.put("queued", callbacks.getQueue().size());
+        result.put("callback", callbackStats);
+        return result;
+    }
+
+    void shutdown() {
+        for (ThreadPoolExecutor pool : pools.values()) {
+            pool.shutdown();
+        }
+        callbacks.shutdown();
+    }
+
+    private static ThreadPoolExecutor createPool(final Lane lane, int concurrency, int queueCapacity,
+                                                 RejectedExecutionHandler rejectedHandler) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, concurrency);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(Math.max(1, queueCapacity)), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "gpgs-" + lane.name().toLowerCase() + "-" + threadCount.incrementAndGet());
+                if (lane == Lane.INTERACTIVE) {
+                    thread.setPriority(Thread.NORM_PRIORITY + 1);
+                }
+                return thread;
+            }
+        }, rejectedHandler);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import org.apache.cordova.PluginResult;
+
+/**
+ * A successful result whose message is JSON text that has already been serialized.
+ *
+ * The text is handed to the bridge as-is, so it is never parsed into a {@code JSONObject}
+ * on the native side only to be serialized again. Callers must make sure it is valid JSON;
+ * text that was not serialized by the plugin goes through {@link #ofStoredText(String)}.
+ */
+final class RawJsonPluginResult extends PluginResult {
+
+    private final String json;
+
+    RawJsonPluginResult(String json) {
+        super(Status.OK);
+        this.json = json;
+    }
+
+    /**
+     * Result for text read back from storage, e.g. a saved game. Only a well-formed JSON
+     * object or array is sent raw. Anything else is sent as a plain string: malformed or
+     * truncated text, binary data, and top-level {@code null}, {@code true} or {@code false},
+     * which the bridge would decode wrongly.
+     */
+    static PluginResult ofStoredText(String text) {
+        if (isJsonContainer(text)) {
+            return new RawJsonPluginResult(text);
+        }
+        return new PluginResult(Status.OK, text);
+    }
+
+    private static boolean isJsonContainer(String text) {
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) start++;
+        if (start == text.length()) return false;
+        char first = text.charAt(start);
+        return (first == '{' || first == '[') && JsonSyntax.isValid(text);
+    }
+
+    @Override
+    public int getMessageType() {
+        return MESSAGE_TYPE_JSON;
+    }
+
+    @Override
+    public String getMessage() {
+        return json;
+    }
+}
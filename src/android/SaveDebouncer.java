@@ -0,0 +1,191 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last-write-wins debouncer for saved games, keyed by snapshot name.
+ *
+ * Only the latest contents and metadata change per snapshot are kept and committed at most once
+ * per interval. Commits for the same snapshot never overlap: saves that arrive while one is
+ * committing wait for the next commit. Every caller whose save was superseded is completed
+ * together with the commit that replaced it.
+ */
+final class SaveDebouncer {
+
+    interface Completion {
+        void onComplete(Exception error);
+    }
+
+    interface Sink {
+        /**
+         * Writes the snapshot and calls {@code done} exactly once when the commit has finished.
+         */
+        void write(String snapshotName, SnapshotMetadataChange metadataChange, byte[] data, Completion done);
+    }
+
+    private static final class Slot {
+        SnapshotMetadataChange metadataChange;
+        byte[] data;
+        List<Completion> waiters = new ArrayList<>();
+        boolean committing = false;
+        boolean flushRequested = false;
+        long lastCommitAt = -1;
+        ScheduledFuture<?> scheduled;
+
+        boolean hasPending() {
+            return data != null;
+        }
+    }
+
+    private final Sink sink;
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMs;
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    SaveDebouncer(Sink sink, ScheduledExecutorService scheduler, long intervalMs) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.intervalMs = intervalMs;
+    }
+
+    void save(String snapshotName, SnapshotMetadataChange metadataChange, byte[] data, Completion completion) {
+        boolean commitNow;
+        synchronized (this) {
+            Slot slot = slots.get(snapshotName);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(snapshotName, slot);
+            }
+            slot.metadataChange = metadataChange;
+            slot.data = data;
+            slot.waiters.add(completion);
+            if (slot.committing || slot.scheduled != null) return;
+
+            long delay = delayFor(slot);
+            commitNow = delay <= 0 || !schedule(snapshotName, slot, delay);
+        }
+        if (commitNow) {
+            commit(snapshotName);
+        }
+    }
+
+    /**
+     * Commits every pending save now, e.g. when the app is paused or stopped.
+     */
+    void flush() {
+        List<String> names = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                if (!slot.hasPending()) continue;
+                if (slot.committing) {
+                    // Committed right after the running commit finishes.
+                    slot.flushRequested = true;
+                    continue;
+                }
+                if (slot.scheduled != null) {
+                    slot.scheduled.cancel(false);
+                    slot.scheduled = null;
+                }
+                names.add(entry.getKey());
+            }
+        }
+        for (String name : names) {
+            commit(name);
+        }
+    }
+
+    private void commit(final String snapshotName) {
+        final Slot slot;
+        final SnapshotMetadataChange metadataChange;
+        final byte[] data;
+        final List<Completion> waiters;
+        synchronized (this) {
+            slot = slots.get(snapshotName);
+            if (slot == null || slot.committing || !slot.hasPending()) return;
+            slot.scheduled = null;
+            slot.committing = true;
+            slot.flushRequested = false;
+            metadataChange = slot.metadataChange;
+            data = slot.data;
+            waiters = slot.waiters;
+            slot.data = null;
+            slot.metadataChange = null;
+            slot.waiters = new ArrayList<>();
+        }
+
+        sink.write(snapshotName, metadataChange, data, new Completion() {
+            @Override
+            public void onComplete(Exception error) {
+                boolean commitNow = false;
+                synchronized (SaveDebouncer.this) {
+                    slot.committing = false;
+                    slot.lastCommitAt = SystemClock.elapsedRealtime();
+                    if (!slot.hasPending()) {
+                        slots.remove(snapshotName);
+                    } else {
+                        long delay = delayFor(slot);
+                        commitNow = slot.flushRequested || delay <= 0 || !schedule(snapshotName, slot, delay);
+                    }
+                }
+                for (Completion waiter : waiters) {
+                    waiter.onComplete(error);
+                }
+                if (commitNow) {
+                    commit(snapshotName);
+                }
+            }
+        });
+    }
+
+    // Must be called while holding the debouncer lock. Returns false once the scheduler has been shut down.
+    private boolean schedule(final String snapshotName, Slot slot, long delayMs) {
+        try {
+            slot.scheduled = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    commit(snapshotName);
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // Time left until the slot may commit again; must be called while holding the debouncer lock.
+    private long delayFor(Slot slot) {
+        if (intervalMs <= 0) return 0;
+        if (slot.lastCommitAt < 0) return intervalMs;
+        return slot.lastCommitAt + intervalMs - SystemClock.elapsedRealtime();
+    }
+}
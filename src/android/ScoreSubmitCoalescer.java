@@ -0,0 +1,180 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import com.google.android.gms.games.leaderboard.Leaderboard;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps only the best pending score per leaderboard and submits it once per window.
+ *
+ * "Best" follows the leaderboard's score order, which is known once its metadata has been
+ * seen. Until then every score is submitted as it is, since dropping one could lose an
+ * improvement on a smaller-is-better leaderboard. Scores that cannot beat the player's best
+ * are dropped: the best is seeded from the player's score on the server the first time a
+ * leaderboard is used, and raised by every score submitted since.
+ */
+final class ScoreSubmitCoalescer {
+
+    interface Sink {
+        void submitScore(String leaderboardId, long score);
+
+        /**
+         * Looks up the player's score and the leaderboard's score order in the background,
+         * reporting them through {@link #seedBest} and {@link #setScoreOrder}.
+         */
+        void loadBest(String leaderboardId);
+    }
+
+    private final Sink sink;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMs;
+
+    private final Map<String, Integer> scoreOrders = new ConcurrentHashMap<>();
+    private final Map<String, Long> submitted = new HashMap<>();
+    private final Map<String, Long> pending = new HashMap<>();
+    private final Set<String> seeded = new HashSet<>();
+    private boolean flushScheduled = false;
+
+    ScoreSubmitCoalescer(Sink sink, ScheduledExecutorService scheduler, long windowMs) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.windowMs = windowMs;
+    }
+
+    void setScoreOrder(String leaderboardId, int scoreOrder) {
+        scoreOrders.put(leaderboardId, scoreOrder);
+    }
+
+    /**
+     * Records the player's score on the server as the best to beat, unless a better one has
+     * been submitted since.
+     */
+    void seedBest(String leaderboardId, long score) {
+        synchronized (pending) {
+            Long best = submitted.get(leaderboardId);
+            if (best == null || (scoreOrders.containsKey(leaderboardId) && isBetter(leaderboardId, score, best))) {
+                submitted.put(leaderboardId, score);
+            }
+        }
+    }
+
+    /**
+     * Lets the next submission look the player's score up again, after a lookup could not run.
+     */
+    void forgetBest(String leaderboardId) {
+        synchronized (pending) {
+            seeded.remove(leaderboardId);
+        }
+    }
+
+    /**
+     * Forgets the player's bests, e.g. when the player signs out. Pending scores are still
+     * submitted, or journaled while signed out.
+     */
+    void clear() {
+        synchronized (pending) {
+            submitted.clear();
+            seeded.clear();
+        }
+    }
+
+    void submit(String leaderboardId, long score) {
+        boolean load;
+        synchronized (pending) {
+            load = seeded.add(leaderboardId);
+        }
+        if (load) {
+            sink.loadBest(leaderboardId);
+        }
+        if (!scoreOrders.containsKey(leaderboardId)) {
+            sink.submitScore(leaderboardId, score);
+            return;
+        }
+        synchronized (pending) {
+            Long best = submitted.get(leaderboardId);
+            if (best != null && !isBetter(leaderboardId, score, best)) {
+                return;
+            }
+            if (windowMs <= 0) {
+                submitted.put(leaderboardId, score);
+            } else {
+                Long current = pending.get(leaderboardId);
+                if (current == null || isBetter(leaderboardId, score, current)) {
+                    pending.put(leaderboardId, score);
+                }
+                scheduleFlush();
+                return;
+            }
+        }
+        sink.submitScore(leaderboardId, score);
+    }
+
+    /**
+     * Submits every pending score right away.
+     */
+    void flush() {
+        Map<String, Long> batch;
+        synchronized (pending) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = new HashMap<>();
+            for (Map.Entry<String, Long> entry : pending.entrySet()) {
+                // The player's best may have been seeded while the score was pending.
+                Long best = submitted.get(entry.getKey());
+                if (best == null || isBetter(entry.getKey(), entry.getValue(), best)) {
+                    batch.put(entry.getKey(), entry.getValue());
+                }
+            }
+            pending.clear();
+            submitted.putAll(batch);
+        }
+        for (Map.Entry<String, Long> entry : batch.entrySet()) {
+            sink.submitScore(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Only called once the leaderboard's score order is known.
+    private boolean isBetter(String leaderboardId, long score, long than) {
+        Integer order = scoreOrders.get(leaderboardId);
+        if (order != null && order == Leaderboard.SCORE_ORDER_SMALLER_IS_BETTER) {
+            return score < than;
+        }
+        return score > than;
+    }
+
+    // Must be called while holding the pending lock.
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, windowMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Framed, optionally compressed encoding of snapshot contents.
+ *
+ * Frame layout: magic (4 bytes), format version (byte), codec id (byte), uncompressed length
+ * (int), CRC32 of the uncompressed data (int), CRC32 of the preceding header bytes (int), then
+ * the encoded body. Contents without the magic and a matching header CRC are legacy, un-framed
+ * snapshots and are returned unchanged, so a raw binary save that happens to start with the
+ * magic is not mistaken for a frame.
+ */
+final class SnapshotCodec {
+
+    static final byte CODEC_NONE = 0;
+    static final byte CODEC_DEFLATE = 1;
+
+    private static final byte[] MAGIC = {'G', 'P', 'S', 'F'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_CRC_OFFSET = MAGIC.length + 1 + 1 + 4 + 4;
+    private static final int HEADER_SIZE = HEADER_CRC_OFFSET + 4;
+    // Upper bound for the uncompressed length, checked before anything is allocated.
+    private static final int MAX_DATA_LENGTH = 32 * 1024 * 1024;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Frames the data with the given codec. Data that deflate cannot shrink is stored as is,
+     * and data too large to be decoded again is returned unframed.
+     */
+    static byte[] encode(byte[] data, byte codec) {
+        if (data.length > MAX_DATA_LENGTH) return data;
+        byte[] body = data;
+        if (codec == CODEC_DEFLATE) {
+            body = deflate(data);
+            if (body.length >= data.length) {
+                body = data;
+                codec = CODEC_NONE;
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        frame.put(MAGIC);
+        frame.put(VERSION);
+        frame.put(codec);
+        frame.putInt(data.length);
+        frame.putInt((int) crc.getValue());
+        frame.putInt(headerCrc(frame.array()));
+        frame.put(body);
+        return frame.array();
+    }
+
+    /**
+     * Returns the original data of a framed snapshot, or the contents unchanged if they are not framed.
+     *
+     * @throws IOException if the frame is from an unknown version or codec, or fails the length or CRC check
+     */
+    static byte[] decode(byte[] stored) throws IOException {
+        if (!isFramed(stored)) return stored;
+
+        ByteBuffer frame = ByteBuffer.wrap(stored);
+        frame.position(MAGIC.length);
+        byte version = frame.get();
+        byte codec = frame.get();
+        int length = frame.getInt();
+        int expectedCrc = frame.getInt();
+        frame.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot format version: " + version);
+        }
+        if (length < 0 || length > MAX_DATA_LENGTH) {
+            throw new IOException("Snapshot data is corrupt.");
+        }
+
+        byte[] data;
+        if (codec == CODEC_NONE) {
+            if (stored.length - HEADER_SIZE != length) {
+                throw new IOException("Snapshot data is corrupt.");
+            }
+            data = new byte[length];
+            frame.get(data);
+        } else if (codec == CODEC_DEFLATE) {
+            data = inflate(stored, HEADER_SIZE, stored.length - HEADER_SIZE, length);
+        } else {
+            throw new IOException("Unsupported snapshot codec: " + codec);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Snapshot data is corrupt.");
+        }
+        return data;
+    }
+
+    static boolean isFramed(byte[] stored) {
+        if (stored == null || stored.length < HEADER_SIZE) return false;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (stored[i] != MAGIC[i]) return false;
+        }
+        return ByteBuffer.wrap(stored, HEADER_CRC_OFFSET, 4).getInt() == headerCrc(stored);
+    }
+
+    private static int headerCrc(byte[] frame) {
+        CRC32 crc = new CRC32();
+        crc.update(frame, 0, HEADER_CRC_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] source, int offset, int count, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source, offset, count);
+            byte[] data = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(data, read, length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                read += inflated;
+            }
+            if (read != length || !inflater.finished()) {
+                throw new IOException("Snapshot data is corrupt.");
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new IOException("Snapshot data is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
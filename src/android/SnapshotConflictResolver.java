@@ -0,0 +1,276 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.games.SnapshotsClient;
+import com.google.android.gms.games.snapshot.Snapshot;
+import com.google.android.gms.games.snapshot.SnapshotContents;
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens snapshots and resolves conflicts natively with {@link SnapshotsClient#resolveConflict}.
+ *
+ * A conflict is resolved with the configured policy and the snapshot is opened again, at most
+ * {@link #MAX_ATTEMPTS} times, so one open ends with a usable snapshot or a single error. With
+ * the merge policy the conflict is handed to JS, which answers through {@link #merge}; if it
+ * does not answer in time, or the versions are not text JS can merge, the most recently modified
+ * snapshot wins.
+ */
+final class SnapshotConflictResolver {
+
+    enum Policy {
+        NONE,
+        MOST_RECENT,
+        LONGEST_PLAYED,
+        HIGHEST_PROGRESS,
+        MERGE;
+
+        static Policy fromName(String name) {
+            if ("none".equals(name)) return NONE;
+            if ("longestPlayed".equals(name)) return LONGEST_PLAYED;
+            if ("highestProgress".equals(name)) return HIGHEST_PROGRESS;
+            if ("merge".equals(name)) return MERGE;
+            return MOST_RECENT;
+        }
+    }
+
+    interface MergeHandler {
+        /**
+         * Asks JS to merge the two versions; the answer arrives through {@link #merge}. Returns false if
+         * the versions cannot be handed to JS, in which case the most recent version wins right away.
+         */
+        boolean requestMerge(String conflictId, String snapshotName, SnapshotsClient.SnapshotConflict conflict);
+    }
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long MERGE_TIMEOUT_MS = 30000;
+
+    private static final class PendingMerge {
+        final SnapshotsClient client;
+        final String snapshotName;
+        final SnapshotsClient.SnapshotConflict conflict;
+        final int attempt;
+        final TaskCompletionSource<Snapshot> source;
+
+        PendingMerge(SnapshotsClient client, String snapshotName, SnapshotsClient.SnapshotConflict conflict,
+                     int attempt, TaskCompletionSource<Snapshot> source) {
+            this.client = client;
+            this.snapshotName = snapshotName;
+            this.conflict = conflict;
+            this.attempt = attempt;
+            this.source = source;
+        }
+    }
+
+    private final Policy policy;
+    private final Executor callbackExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final MergeHandler mergeHandler;
+    private final Map<String, PendingMerge> pendingMerges = new HashMap<>();
+
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong merges = new AtomicLong();
+    private final AtomicLong mergeTimeouts = new AtomicLong();
+
+    SnapshotConflictResolver(Policy policy, Executor callbackExecutor, ScheduledExecutorService scheduler,
+                             MergeHandler mergeHandler) {
+        this.policy = policy;
+        this.callbackExecutor = callbackExecutor;
+        this.scheduler = scheduler;
+        this.mergeHandler = mergeHandler;
+    }
+
+    /**
+     * Opens the snapshot, resolving any conflicts on the way.
+     */
+    Task<Snapshot> open(final SnapshotsClient client, final String snapshotName, boolean createIfNotFound) {
+        final TaskCompletionSource<Snapshot> source = new TaskCompletionSource<>();
+        client.open(snapshotName, createIfNotFound)
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
+                    @Override
+                    public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> result) {
+                        handle(client, snapshotName, result, 0, source);
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, failTo(source));
+        return source.getTask();
+    }
+
+    /**
+     * Resolves a pending merge with the merged contents. Returns false if the conflict is unknown or timed out.
+     */
+    boolean merge(String conflictId, byte[] merged) {
+        PendingMerge pending;
+        synchronized (pendingMerges) {
+            pending = pendingMerges.remove(conflictId);
+        }
+        if (pending == null) return false;
+
+        merges.incrementAndGet();
+        SnapshotContents contents = pending.conflict.getResolutionSnapshotContents();
+        if (!contents.writeBytes(merged)) {
+            failed.incrementAndGet();
+            pending.source.trySetException(new IOException("Failed to write merged snapshot contents."));
+            return true;
+        }
+        resolve(pending, pending.client.resolveConflict(conflictId, pending.conflict.getSnapshot().getMetadata().getSnapshotId(),
+                SnapshotMetadataChange.EMPTY_CHANGE, contents));
+        return true;
+    }
+
+    JSONObject stats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("policy", policy.name().toLowerCase());
+        stats.put("conflicts", conflicts.get());
+        stats.put("resolved", resolved.get());
+        stats.put("retries", retries.get());
+        stats.put("failed", failed.get());
+        stats.put("merges", merges.get());
+        stats.put("mergeTimeouts", mergeTimeouts.get());
+        return stats;
+    }
+
+    private void handle(SnapshotsClient client, String snapshotName, SnapshotsClient.DataOrConflict<Snapshot> result,
+                        int attempt, TaskCompletionSource<Snapshot> source) {
+        if (!result.isConflict()) {
+            if (attempt > 0) resolved.incrementAndGet();
+            source.trySetResult(result.getData());
+            return;
+        }
+
+        conflicts.incrementAndGet();
+        if (attempt > 0) retries.incrementAndGet();
+        if (policy == Policy.NONE) {
+            failed.incrementAndGet();
+            source.trySetException(new IOException("Snapshot conflict."));
+            return;
+        }
+        if (attempt >= MAX_ATTEMPTS) {
+            failed.incrementAndGet();
+            source.trySetException(new IOException("Snapshot conflict could not be resolved after " + MAX_ATTEMPTS + " attempts."));
+            return;
+        }
+
+        final SnapshotsClient.SnapshotConflict conflict = result.getConflict();
+        final PendingMerge pending = new PendingMerge(client, snapshotName, conflict, attempt, source);
+        if (policy == Policy.MERGE) {
+            requestMerge(pending);
+            return;
+        }
+        resolveWith(pending, choose(policy, conflict));
+    }
+
+    private void requestMerge(final PendingMerge pending) {
+        final String conflictId = pending.conflict.getConflictId();
+        synchronized (pendingMerges) {
+            pendingMerges.put(conflictId, pending);
+        }
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    PendingMerge expired;
+                    synchronized (pendingMerges) {
+                        expired = pendingMerges.remove(conflictId);
+                    }
+                    if (expired != null) {
+                        mergeTimeouts.incrementAndGet();
+                        resolveWith(expired, choose(Policy.MOST_RECENT, expired.conflict));
+                    }
+                }
+            }, MERGE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            synchronized (pendingMerges) {
+                pendingMerges.remove(conflictId);
+            }
+            resolveWith(pending, choose(Policy.MOST_RECENT, pending.conflict));
+            return;
+        }
+        if (!mergeHandler.requestMerge(conflictId, pending.snapshotName, pending.conflict)) {
+            PendingMerge skipped;
+            synchronized (pendingMerges) {
+                skipped = pendingMerges.remove(conflictId);
+            }
+            if (skipped != null) resolveWith(skipped, choose(Policy.MOST_RECENT, skipped.conflict));
+        }
+    }
+
+    private void resolveWith(PendingMerge pending, Snapshot winner) {
+        resolve(pending, pending.client.resolveConflict(pending.conflict.getConflictId(), winner));
+    }
+
+    private void resolve(final PendingMerge pending, Task<SnapshotsClient.DataOrConflict<Snapshot>> resolution) {
+        resolution
+                .addOnSuccessListener(callbackExecutor, new OnSuccessListener<SnapshotsClient.DataOrConflict<Snapshot>>() {
+                    @Override
+                    public void onSuccess(SnapshotsClient.DataOrConflict<Snapshot> result) {
+                        handle(pending.client, pending.snapshotName, result, pending.attempt + 1, pending.source);
+                    }
+                })
+                .addOnFailureListener(callbackExecutor, failTo(pending.source));
+    }
+
+    private OnFailureListener failTo(final TaskCompletionSource<Snapshot> source) {
+        return new OnFailureListener() {
+            @Override
+            public void onFailure(@NonNull Exception e) {
+                source.trySetException(e);
+            }
+        };
+    }
+
+    private static Snapshot choose(Policy policy, SnapshotsClient.SnapshotConflict conflict) {
+        Snapshot snapshot = conflict.getSnapshot();
+        Snapshot conflicting = conflict.getConflictingSnapshot();
+        SnapshotMetadata a = snapshot.getMetadata();
+        SnapshotMetadata b = conflicting.getMetadata();
+        int order = 0;
+        if (policy == Policy.LONGEST_PLAYED) {
+            order = Long.compare(a.getPlayedTime(), b.getPlayedTime());
+        } else if (policy == Policy.HIGHEST_PROGRESS) {
+            order = Long.compare(a.getProgressValue(), b.getProgressValue());
+        }
+        if (order == 0) {
+            order = Long.compare(a.getLastModifiedTimestamp(), b.getLastModifiedTimestamp());
+        }
+        return order >= 0 ? snapshot : conflicting;
+    }
+}
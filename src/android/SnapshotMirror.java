@@ -0,0 +1,212 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Local copy of snapshot contents in app-private storage, one directory per player.
+ *
+ * File layout: format version (byte), pending flag (byte), CRC32 of the data (int), data length
+ * (int), time of the local write (long), then the data. Files are replaced atomically through a
+ * temporary file, and read through a memory mapping. An entry is pending from a local save until
+ * that save has been committed to the cloud; pending entries are never replaced by cloud data.
+ * A save whose commit failed is dropped again, so the cloud copy is loaded and checked instead.
+ */
+final class SnapshotMirror {
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 1 + 1 + 4 + 4 + 8;
+    private static final int PENDING_OFFSET = 1;
+
+    private final File root;
+
+    SnapshotMirror(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the mirrored data, or null if there is no valid local copy.
+     */
+    synchronized byte[] read(String playerId, String snapshotName) {
+        File file = file(playerId, snapshotName);
+        if (!file.isFile()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) return null;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.get() != VERSION) return null;
+            mapped.get();
+            int crc = mapped.getInt();
+            int length = mapped.getInt();
+            mapped.getLong();
+            if (length < 0 || length != size - HEADER_SIZE) return null;
+            byte[] data = new byte[length];
+            mapped.get(data);
+            return crc(data) == crc ? data : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores a local save; the entry stays pending until {@link #markCommitted} is called with the same data.
+     */
+    synchronized void writeLocal(String playerId, String snapshotName, byte[] data) throws IOException {
+        write(file(playerId, snapshotName), data, true);
+    }
+
+    /**
+     * Replaces the entry with data loaded from the cloud, unless it differs only because a local
+     * save is still pending. Returns true if the mirrored data changed.
+     */
+    synchronized boolean replaceIfCommitted(String playerId, String snapshotName, byte[] data) throws IOException {
+        File file = file(playerId, snapshotName);
+        Header header = readHeader(file);
+        if (header != null) {
+            if (header.pending) return false;
+            if (header.crc == crc(data) && header.length == data.length) return false;
+        }
+        write(file, data, false);
+        return header != null;
+    }
+
+    synchronized boolean isPending(String playerId, String snapshotName) {
+        Header header = readHeader(file(playerId, snapshotName));
+        return header != null && header.pending;
+    }
+
+    /**
+     * Clears the pending flag if the mirrored data is the data that has just been committed.
+     */
+    synchronized void markCommitted(String playerId, String snapshotName, byte[] committed) {
+        File file = file(playerId, snapshotName);
+        Header header = readHeader(file);
+        if (header == null || !header.pending || header.crc != crc(committed) || header.length != committed.length) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), PENDING_OFFSET);
+        } catch (IOException ignored) {
+            // Left pending: the next cloud check is skipped until the next save commits.
+        }
+    }
+
+    /**
+     * Deletes the entry if it still holds the pending save whose commit has failed. A newer local
+     * save is kept: its own commit clears or drops it.
+     */
+    synchronized void discardPending(String playerId, String snapshotName, byte[] failed) {
+        File file = file(playerId, snapshotName);
+        Header header = readHeader(file);
+        if (header == null || !header.pending || header.crc != crc(failed) || header.length != failed.length) {
+            return;
+        }
+        delete(playerId, snapshotName);
+    }
+
+    synchronized void delete(String playerId, String snapshotName) {
+        File file = file(playerId, snapshotName);
+        if (file.exists() && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private static final class Header {
+        boolean pending;
+        int crc;
+        int length;
+    }
+
+    private static Header readHeader(File file) {
+        if (!file.isFile()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return null;
+            }
+            buffer.flip();
+            if (buffer.get() != VERSION) return null;
+            Header header = new Header();
+            header.pending = buffer.get() != 0;
+            header.crc = buffer.getInt();
+            header.length = buffer.getInt();
+            return header;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void write(File file, byte[] data, boolean pending) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create snapshot mirror directory.");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(VERSION);
+        header.put((byte) (pending ? 1 : 0));
+        header.putInt(crc(data));
+        header.putInt(data.length);
+        header.putLong(SystemClock.elapsedRealtime());
+        header.flip();
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp); FileChannel channel = out.getChannel()) {
+            ByteBuffer body = ByteBuffer.wrap(data);
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+            channel.force(false);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Cannot replace snapshot mirror file.");
+        }
+    }
+
+    private File file(String playerId, String snapshotName) {
+        return new File(new File(root, hex(playerId)), hex(snapshotName) + ".snap");
+    }
+
+    // Snapshot names may contain characters that are not valid in file names.
+    private static String hex(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return (int) crc.getValue();
+    }
+}
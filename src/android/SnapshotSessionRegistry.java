@@ -0,0 +1,186 @@
+/*
+ * cordova-plugin-gpgs
+ * Copyright (C) 2025 Exelerus AB
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.exelerus.cordova.plugin;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.games.snapshot.Snapshot;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open snapshot handles of the session API, by session id.
+ *
+ * Each session keeps one native {@link Snapshot} open between openSnapshotSession and
+ * commitSession or discardSession. Writes are kept in memory and only reach the snapshot on
+ * commit. Sessions that are left unused for longer than the idle timeout are discarded, so a
+ * session the game forgot to close never leaks its handle.
+ *
+ * A session is marked closed, under its own lock, as soon as it leaves the registry. Work that
+ * touches the snapshot holds the same lock and checks the flag first, so a read that was already
+ * dispatched never runs against a handle that is being committed or discarded.
+ */
+final class SnapshotSessionRegistry {
+
+    interface Closer {
+        void discard(Snapshot snapshot);
+    }
+
+    static final class Session {
+        final String snapshotName;
+        final Snapshot snapshot;
+        // Guarded by the session's lock.
+        byte[] pendingData;
+        boolean closed;
+        long lastUsed;
+
+        Session(String snapshotName, Snapshot snapshot) {
+            this.snapshotName = snapshotName;
+            this.snapshot = snapshot;
+            this.lastUsed = SystemClock.elapsedRealtime();
+        }
+
+        // Waits for any read that holds the lock to finish.
+        private synchronized void close() {
+            closed = true;
+        }
+    }
+
+    private final Closer closer;
+    private final ScheduledExecutorService scheduler;
+    private final long idleTimeoutMs;
+    private final Map<Integer, Session> sessions = new HashMap<>();
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private int nextSessionId = 1;
+    private boolean reapScheduled = false;
+
+    SnapshotSessionRegistry(Closer closer, ScheduledExecutorService scheduler, long idleTimeoutMs) {
+        this.closer = closer;
+        this.scheduler = scheduler;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    synchronized int register(String snapshotName, Snapshot snapshot) {
+        int sessionId = nextSessionId++;
+        sessions.put(sessionId, new Session(snapshotName, snapshot));
+        opened.incrementAndGet();
+        scheduleReap();
+        return sessionId;
+    }
+
+    /**
+     * Returns the open session and marks it as used, or null if it is unknown, closed or reclaimed.
+     */
+    synchronized Session get(int sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastUsed = SystemClock.elapsedRealtime();
+        }
+        return session;
+    }
+
+    /**
+     * Removes the session so it can be committed or discarded; only one caller ever gets it.
+     */
+    Session remove(int sessionId) {
+        Session session;
+        synchronized (this) {
+            session = sessions.remove(sessionId);
+        }
+        if (session != null) {
+            session.close();
+        }
+        return session;
+    }
+
+    /**
+     * Discards every open session, e.g. when the player signs out or the plugin is destroyed.
+     */
+    void clear() {
+        List<Session> closed;
+        synchronized (this) {
+            closed = new ArrayList<>(sessions.values());
+            sessions.clear();
+        }
+        for (Session session : closed) {
+            session.close();
+            closer.discard(session.snapshot);
+        }
+    }
+
+    JSONObject stats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("opened", opened.get());
+        stats.put("reclaimed", reclaimed.get());
+        synchronized (this) {
+            stats.put("open", sessions.size());
+        }
+        return stats;
+    }
+
+    private void reap() {
+        List<Session> expired = new ArrayList<>();
+        synchronized (this) {
+            reapScheduled = false;
+            long now = SystemClock.elapsedRealtime();
+            Iterator<Session> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                Session session = iterator.next();
+                if (now - session.lastUsed >= idleTimeoutMs) {
+                    iterator.remove();
+                    expired.add(session);
+                }
+            }
+            scheduleReap();
+        }
+        for (Session session : expired) {
+            reclaimed.incrementAndGet();
+            session.close();
+            closer.discard(session.snapshot);
+        }
+    }
+
+    // Must be called while holding the registry lock.
+    private void scheduleReap() {
+        if (reapScheduled || sessions.isEmpty()) return;
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    reap();
+                }
+            }, Math.max(1000, idleTimeoutMs / 2), TimeUnit.MILLISECONDS);
+            reapScheduled = true;
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; onDestroy discards the remaining sessions.
+        }
+    }
+}
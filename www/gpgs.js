@@ -39,6 +39,170 @@ var exec = require('cordova/exec');
 /* eslint-disable */
 // noinspection JSAnnotator
 
+/**
+ * Runs a list action, streaming its result in chunks when options.stream is set.
+ * Each chunk's items are passed to options.onChunk as soon as they arrive; the promise
+ * resolves with the same value as the non-streamed call, built by assemble().
+ * options.fields limits each item to the listed properties. With options.columnar, the
+ * result is sent in the columnar format and resolved with decodeColumnar(result); it is
+ * never streamed.
+ */
+function execStreamed(action, args, options, assemble, decodeColumnar) {
+    return new Promise((resolve, reject) => {
+        var fields = options && options.fields ? { fields: options.fields } : null;
+        if (options && options.columnar && decodeColumnar) {
+            exec(function(result) {
+                resolve(decodeColumnar(result));
+            }, reject, 'GPGS', action, args.concat([{ columnar: true, fields: options.fields }]));
+            return;
+        }
+        if (!options || !options.stream) {
+            exec(resolve, reject, 'GPGS', action, fields ? args.concat([fields]) : args);
+            return;
+        }
+        var items = [];
+        var header = null;
+        exec(function(chunk) {
+            if (header === null) {
+                header = chunk;
+            }
+            Array.prototype.push.apply(items, chunk.items);
+            if (typeof options.onChunk === 'function') {
+                options.onChunk(chunk.items);
+            }
+            if (chunk.done) {
+                resolve(assemble ? assemble(items, header) : items);
+            }
+        }, reject, 'GPGS', action, args.concat([{ stream: true, chunkSize: options.chunkSize || 25, fields: options.fields }]));
+    });
+}
+
+function assembleScores(items, header) {
+    return { leaderboard: header.leaderboard || null, scores: items };
+}
+
+/**
+ * Read-only view over a list sent in the columnar format: one array per property, with
+ * string values stored as indexes into a shared string table. Rows are only created when
+ * they are accessed, and each property is read from its column when it is used. Nested
+ * objects such as scoreHolder are views as well. Call toJSON() on a row, or toArray() on
+ * the list, for plain objects.
+ */
+function ColumnarRows(encoded) {
+    this.length = encoded.count;
+    this.columns = encoded.columns;
+    this.strings = encoded.strings;
+    this._rowPrototype = columnarRowPrototype(columnarTree(encoded), encoded.strings);
+}
+
+ColumnarRows.prototype.get = function(index) {
+    if (index < 0 || index >= this.length) {
+        return undefined;
+    }
+    return Object.create(this._rowPrototype, { _index: { value: index } });
+};
+
+ColumnarRows.prototype.forEach = function(callback, thisArg) {
+    for (var i = 0; i < this.length; i++) {
+        callback.call(thisArg, this.get(i), i, this);
+    }
+};
+
+ColumnarRows.prototype.map = function(callback, thisArg) {
+    var result = new Array(this.length);
+    for (var i = 0; i < this.length; i++) {
+        result[i] = callback.call(thisArg, this.get(i), i, this);
+    }
+    return result;
+};
+
+ColumnarRows.prototype.toArray = function() {
+    return this.map(function(row) {
+        return row.toJSON();
+    });
+};
+
+ColumnarRows.prototype.toJSON = ColumnarRows.prototype.toArray;
+
+ColumnarRows.prototype[Symbol.iterator] = function*() {
+    for (var i = 0; i < this.length; i++) {
+        yield this.get(i);
+    }
+};
+
+// Turns dotted column names into a tree: { children: { name: branch | { values, isString } } }.
+function columnarTree(encoded) {
+    var stringColumns = {};
+    encoded.stringColumns.forEach(function(name) {
+        stringColumns[name] = true;
+    });
+    var root = { children: {} };
+    Object.keys(encoded.columns).forEach(function(column) {
+        var path = column.split('.');
+        var node = root;
+        for (var i = 0; i < path.length - 1; i++) {
+            node = node.children[path[i]] = node.children[path[i]] || { children: {} };
+        }
+        node.children[path[path.length - 1]] = { values: encoded.columns[column], isString: !!stringColumns[column] };
+    });
+    return root;
+}
+
+function columnarHasValue(node, index) {
+    if (!node.children) {
+        return node.values[index] !== null;
+    }
+    return Object.keys(node.children).some(function(name) {
+        return columnarHasValue(node.children[name], index);
+    });
+}
+
+// One prototype per tree node, with a getter per property, shared by every row.
+function columnarRowPrototype(node, strings) {
+    var prototype = {};
+    var names = Object.keys(node.children);
+    names.forEach(function(name) {
+        var child = node.children[name];
+        var getter;
+        if (child.children) {
+            var nested = columnarRowPrototype(child, strings);
+            getter = function() {
+                return columnarHasValue(child, this._index)
+                    ? Object.create(nested, { _index: { value: this._index } })
+                    : null;
+            };
+        } else {
+            getter = function() {
+                var value = child.values[this._index];
+                return value !== null && child.isString ? strings[value] : value;
+            };
+        }
+        Object.defineProperty(prototype, name, { get: getter, enumerable: true });
+    });
+    Object.defineProperty(prototype, 'toJSON', {
+        value: function() {
+            var plain = {};
+            names.forEach(function(name) {
+                var value = this[name];
+                plain[name] = value !== null && typeof value === 'object' ? value.toJSON() : value;
+            }, this);
+            return plain;
+        }
+    });
+    return prototype;
+}
+
+function decodeColumnarRows(result) {
+    return new ColumnarRows(result);
+}
+
+function decodeColumnarScores(result) {
+    if (result && result.scores) {
+        result.scores = new ColumnarRows(result.scores);
+    }
+    return result;
+}
+
 /**
  * @namespace cordova.plugins.GPGS
  */
@@ -167,12 +331,12 @@ var GPGS = {
     /**
      * Load all achievements for the current player
      * @param {boolean} forceReload - Whether to force a reload from the server
-     * @returns {Promise<Array>} Promise that resolves with an array of achievement objects
+     * @param {Object} [options] - Streaming options: {stream, chunkSize, onChunk}, fields: property names to return per item,
+     * and columnar: resolve with a ColumnarRows view instead of an array
+     * @returns {Promise<Array|ColumnarRows>} Promise that resolves with an array of achievement objects
      */
-    loadAchievements: function(forceReload) {
-        return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'loadAchievements', [forceReload || false]);
-        });
+    loadAchievements: function(forceReload, options) {
+        return execStreamed('loadAchievements', [forceReload || false], options, null, decodeColumnarRows);
     },
 
     /**
@@ -225,12 +389,12 @@ var GPGS = {
      * @param {number} timeSpan - Time span (0=daily, 1=weekly, 2=all_time)
      * @param {number} collection - Collection (0=public, 1=social)
      * @param {number} maxResults - Max number of scores to return
+     * @param {Object} [options] - Streaming options: {stream, chunkSize, onChunk}, fields: property names to return per item,
+     * and columnar: resolve with scores as a ColumnarRows view instead of an array
      * @returns {Promise<Object>} Promise that resolves with leaderboard scores
      */
-    loadTopScores: function(leaderboardId, timeSpan, collection, maxResults) {
-        return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'loadTopScores', [leaderboardId, timeSpan, collection, maxResults]);
-        });
+    loadTopScores: function(leaderboardId, timeSpan, collection, maxResults, options) {
+        return execStreamed('loadTopScores', [leaderboardId, timeSpan, collection, maxResults], options, assembleScores, decodeColumnarScores);
     },
 
     /**
@@ -239,11 +403,61 @@ var GPGS = {
      * @param {number} timeSpan - Time span (0=daily, 1=weekly, 2=all_time)
      * @param {number} collection - Collection (0=public, 1=social)
      * @param {number} maxResults - Max number of scores to return
+     * @param {Object} [options] - Streaming options: {stream, chunkSize, onChunk}, fields: property names to return per item,
+     * and columnar: resolve with scores as a ColumnarRows view instead of an array
      * @returns {Promise<Object>} Promise that resolves with leaderboard scores
      */
-    loadPlayerCenteredScores: function(leaderboardId, timeSpan, collection, maxResults) {
+    loadPlayerCenteredScores: function(leaderboardId, timeSpan, collection, maxResults, options) {
+        return execStreamed('loadPlayerCenteredScores', [leaderboardId, timeSpan, collection, maxResults], options, assembleScores, decodeColumnarScores);
+    },
+
+    /**
+     * Open a paged view over a leaderboard's scores
+     * @param {string} leaderboardId - ID of the leaderboard
+     * @param {number} timeSpan - Time span (0=daily, 1=weekly, 2=all_time)
+     * @param {number} collection - Collection (0=public, 1=social)
+     * @param {number} pageSize - Number of scores per page (max 25)
+     * @param {Object} [options] - Paging options
+     * @param {boolean} [options.playerCentered] - Start around the signed-in player instead of the top
+     * @returns {Promise<Object>} Promise that resolves with the first page:
+     * { cursorId: number, page: number, leaderboard: Object, scores: Array }
+     */
+    openScores: function(leaderboardId, timeSpan, collection, pageSize, options) {
         return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'loadPlayerCenteredScores', [leaderboardId, timeSpan, collection, maxResults]);
+            exec(resolve, reject, 'GPGS', 'openScores', [leaderboardId, timeSpan, collection, pageSize, !!(options && options.playerCentered)]);
+        });
+    },
+
+    /**
+     * Load the next page of an open score cursor
+     * @param {number} cursorId - ID returned by openScores
+     * @returns {Promise<Object>} Promise that resolves with the page; scores is empty at the end
+     */
+    nextPage: function(cursorId) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'nextPage', [cursorId]);
+        });
+    },
+
+    /**
+     * Load the previous page of an open score cursor
+     * @param {number} cursorId - ID returned by openScores
+     * @returns {Promise<Object>} Promise that resolves with the page; scores is empty at the start
+     */
+    prevPage: function(cursorId) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'prevPage', [cursorId]);
+        });
+    },
+
+    /**
+     * Close a score cursor
+     * @param {number} cursorId - ID returned by openScores
+     * @returns {Promise<void>} Promise that resolves when the cursor is closed
+     */
+    closeScores: function(cursorId) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'closeScores', [cursorId]);
         });
     },
 
@@ -258,6 +472,17 @@ var GPGS = {
         });
     },
 
+    /**
+     * Drop cached leaderboard metadata so the next load goes to Play Games
+     * @param {string} [leaderboardId] - ID of the leaderboard (optional, clears all if not provided)
+     * @returns {Promise<void>} Promise that resolves when the cache has been invalidated
+     */
+    invalidateLeaderboardMetadata: function(leaderboardId) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'invalidateLeaderboardMetadata', leaderboardId ? [leaderboardId] : []);
+        });
+    },
+
     /**
      * Show saved games UI
      * @param {Object} options - UI options
@@ -282,23 +507,185 @@ var GPGS = {
      * Save game data
      * @param {string} snapshotName - Name of the save
      * @param {string} description - Description of the save
-     * @param {Object} data - Data to save
+     * @param {Object|string} data - Data to save, or data already serialized with JSON.stringify
+     * @param {Object} [options] - Snapshot metadata used by the conflict policies
+     * @param {number} [options.progressValue] - Progress value of the save
+     * @param {number} [options.playedTime] - Total played time in milliseconds
      * @returns {Promise<void>} Promise that resolves when save is complete
      */
-    saveGame: function(snapshotName, description, data) {
+    saveGame: function(snapshotName, description, data, options) {
+        // Sent as JSON text so native code can write it without building a JSON object.
+        var json = typeof data === 'string' ? data : JSON.stringify(data);
         return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'saveGame', [snapshotName, description, data]);
+            exec(resolve, reject, 'GPGS', 'saveGame', [snapshotName, description, json, options || {}]);
         });
     },
 
     /**
      * Load game data
      * @param {string} snapshotName - Name of the save to load
+     * @param {Object} [options] - Load options
+     * @param {boolean} [options.passthrough] - Pass the stored JSON to JS without parsing it natively
      * @returns {Promise<Object>} Promise that resolves with the saved data
      */
-    loadGame: function(snapshotName) {
+    loadGame: function(snapshotName, options) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'loadGameSave', options && options.passthrough ? [snapshotName, { passthrough: true }] : [snapshotName]);
+        });
+    },
+
+    /**
+     * Load several saves in parallel
+     * @param {string[]} snapshotNames - Names of the saves to load
+     * @param {Object} [options] - Load options
+     * @param {number} [options.concurrency=4] - Maximum number of loads in flight at once
+     * @param {Function} [options.onSlot] - Called with each slot as soon as it has loaded
+     * @returns {Promise<Array<Object>>} Promise that resolves with one slot per name, in order:
+     * { index, snapshotName, success, data } or { index, snapshotName, success: false, error }.
+     * A failed slot never rejects the promise.
+     */
+    loadGames: function(snapshotNames, options) {
+        options = options || {};
+        return new Promise((resolve, reject) => {
+            var slots = new Array(snapshotNames.length);
+            exec(function(slot) {
+                if (slot.done) {
+                    resolve(slots);
+                    return;
+                }
+                delete slot.done;
+                slots[slot.index] = slot;
+                if (typeof options.onSlot === 'function') {
+                    options.onSlot(slot);
+                }
+            }, reject, 'GPGS', 'loadGames', [snapshotNames, options.concurrency || 4]);
+        });
+    },
+
+    /**
+     * Save binary game data without JSON or base64 wrapping
+     * @param {string} snapshotName - Name of the save
+     * @param {string} description - Description of the save
+     * @param {ArrayBuffer|ArrayBufferView} data - Bytes to save
+     * @param {Object} [options] - Snapshot metadata, see saveGame
+     * @returns {Promise<void>} Promise that resolves when save is complete
+     */
+    saveGameBinary: function(snapshotName, description, data, options) {
+        var buffer = ArrayBuffer.isView(data)
+            ? data.buffer.slice(data.byteOffset, data.byteOffset + data.byteLength)
+            : data;
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'saveGameBinary', [snapshotName, description, buffer, options || {}]);
+        });
+    },
+
+    /**
+     * Open a snapshot once for several writes and a single commit
+     * @param {string} snapshotName - Name of the save
+     * @param {boolean} [createIfNotFound=true] - Create the snapshot if it does not exist
+     * @returns {Promise<{sessionId: number, metadata: Object}>} Promise that resolves with the session
+     */
+    openSnapshotSession: function(snapshotName, createIfNotFound) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'openSnapshotSession', [snapshotName, createIfNotFound !== false]);
+        });
+    },
+
+    /**
+     * Replace the contents of an open session; nothing is sent to the cloud until commitSession
+     * @param {number} sessionId - ID returned by openSnapshotSession
+     * @param {Object|string|ArrayBuffer|ArrayBufferView} data - JSON data, or bytes
+     * @returns {Promise<void>} Promise that resolves when the data has been stored in the session
+     */
+    writeSession: function(sessionId, data) {
+        var binary = data instanceof ArrayBuffer || ArrayBuffer.isView(data);
+        var payload = binary
+            ? (ArrayBuffer.isView(data) ? data.buffer.slice(data.byteOffset, data.byteOffset + data.byteLength) : data)
+            : (typeof data === 'string' ? data : JSON.stringify(data));
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'writeSession', [sessionId, payload, binary]);
+        });
+    },
+
+    /**
+     * Read the current contents of an open session
+     * @param {number} sessionId - ID returned by openSnapshotSession
+     * @param {Object} [options] - Read options
+     * @param {boolean} [options.binary] - Resolve with an ArrayBuffer instead of parsed JSON
+     * @returns {Promise<Object|string|ArrayBuffer>} Promise that resolves with the session data; contents that are not a JSON object or array resolve as a string
+     */
+    readSession: function(sessionId, options) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'readSession', [sessionId, !!(options && options.binary)]);
+        });
+    },
+
+    /**
+     * Commit the session's contents and close it
+     * @param {number} sessionId - ID returned by openSnapshotSession
+     * @param {string} [description] - New description of the save
+     * @param {Object} [options] - Snapshot metadata, see saveGame
+     * @returns {Promise<Object>} Promise that resolves with the committed snapshot metadata
+     */
+    commitSession: function(sessionId, description, options) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'commitSession', [sessionId, description === undefined ? null : description, options || {}]);
+        });
+    },
+
+    /**
+     * Close the session without committing
+     * @param {number} sessionId - ID returned by openSnapshotSession
+     * @returns {Promise<void>} Promise that resolves when the session is closed
+     */
+    discardSession: function(sessionId) {
         return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'loadGameSave', [snapshotName]);
+            exec(resolve, reject, 'GPGS', 'discardSession', [sessionId]);
+        });
+    },
+
+    /**
+     * Answer a gpgs.snapshotconflict event with the merged save data
+     * @param {string} conflictId - ID from the event
+     * @param {Object|string} data - Merged data, or merged data already serialized with JSON.stringify
+     * @returns {Promise<void>} Promise that resolves when the merge has been handed to Play Games
+     */
+    resolveSnapshotConflict: function(conflictId, data) {
+        var json = typeof data === 'string' ? data : JSON.stringify(data);
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'resolveSnapshotConflict', [conflictId, json]);
+        });
+    },
+
+    /**
+     * Merge conflicting saves in JS (with the "merge" conflict policy)
+     * @param {Function|null} handler - Called with the gpgs.snapshotconflict event; returns the merged
+     * data or a Promise of it. Pass null to remove the handler.
+     */
+    setSnapshotMergeHandler: function(handler) {
+        if (this._snapshotMergeListener) {
+            window.removeEventListener('gpgs.snapshotconflict', this._snapshotMergeListener);
+            this._snapshotMergeListener = null;
+        }
+        if (typeof handler !== 'function') return;
+        var self = this;
+        this._snapshotMergeListener = function(event) {
+            Promise.resolve()
+                .then(function() { return handler(event); })
+                .then(function(merged) { return self.resolveSnapshotConflict(event.conflictId, merged); })
+                .catch(function(error) { console.warn('GPGS snapshot merge failed', error); });
+        };
+        window.addEventListener('gpgs.snapshotconflict', this._snapshotMergeListener);
+    },
+
+    /**
+     * Load binary game data saved with saveGameBinary
+     * @param {string} snapshotName - Name of the save to load
+     * @returns {Promise<ArrayBuffer>} Promise that resolves with the saved bytes
+     */
+    loadGameBinary: function(snapshotName) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'loadGameBinary', [snapshotName]);
         });
     },
 
@@ -316,21 +703,42 @@ var GPGS = {
     /**
      * Load all snapshots for the current player
      * @param {boolean} forceReload - Whether to force a reload from the server
+     * @param {Object} [options] - Streaming options: {stream, chunkSize, onChunk}, and fields: property names to return per item
      * @returns {Promise<Array>} Promise that resolves with an array of snapshot metadata objects
      */
-    loadAllSnapshots: function(forceReload) {
-        return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'loadAllSnapshots', [forceReload || false]);
-        });
+    loadAllSnapshots: function(forceReload, options) {
+        return execStreamed('loadAllSnapshots', [forceReload || false], options);
     },
 
     /**
      * Get list of friends
+     * @param {Object} [options] - Paging options
+     * @param {number} [options.pageSize=100] - Number of friends loaded per page
+     * @param {number} [options.maxTotal] - Maximum number of friends to load (all friends if omitted)
+     * @param {Function} [options.onPage] - Called with each page of friends as soon as it arrives
+     * @param {string[]} [options.fields] - Properties to return per friend, e.g. ['id']
      * @returns {Promise<Array>} Promise that resolves with array of friend objects
      */
-    getFriendsList: function() {
+    getFriendsList: function(options) {
+        if (!options) {
+            return new Promise((resolve, reject) => {
+                exec(resolve, reject, 'GPGS', 'getFriendsList', []);
+            });
+        }
+        var onPage = typeof options.onPage === 'function' ? options.onPage : null;
         return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'getFriendsList', []);
+            var friends = [];
+            exec(function(result) {
+                if (!onPage) {
+                    resolve(result);
+                    return;
+                }
+                Array.prototype.push.apply(friends, result.friends);
+                onPage(result.friends);
+                if (result.done) {
+                    resolve(friends);
+                }
+            }, reject, 'GPGS', 'getFriendsList', [options.pageSize || 100, options.maxTotal || 0, !!onPage, { fields: options.fields }]);
         });
     },
 
@@ -358,11 +766,12 @@ var GPGS = {
     /**
      * Get player info
      * @param {string} playerId - ID of the player (optional, defaults to current player)
+     * @param {boolean} [forceReload] - Whether to bypass the player cache and reload from the server
      * @returns {Promise<Object>} Promise that resolves with player info
      */
-    getPlayerInfo: function(playerId) {
+    getPlayerInfo: function(playerId, forceReload) {
         return new Promise((resolve, reject) => {
-            exec(resolve, reject, 'GPGS', 'getPlayer', [playerId || '']);
+            exec(resolve, reject, 'GPGS', 'getPlayer', [playerId || '', forceReload || false]);
         });
     },
 
@@ -418,6 +827,33 @@ var GPGS = {
         return new Promise((resolve, reject) => {
             exec(resolve, reject, 'GPGS', 'initialize', []);
         });
+    },
+
+    /**
+     * Get internal plugin counters, useful for tuning and debugging
+     * @returns {Promise<Object>} Promise that resolves with the counters, e.g.
+     * { readDeduplication: { reads: number, collapsed: number, inFlight: number },
+     *   executor: { interactive: Object, read: Object, write: Object } }
+     */
+    getPluginStats: function() {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'getPluginStats', []);
+        });
+    },
+
+    /**
+     * Run several native actions in a single bridge call
+     * @param {Array<{action: string, args: Array}>} operations - Native action names and their arguments,
+     * e.g. { action: 'unlockAchievement', args: ['achievement_id'] }
+     * @returns {Promise<Array<{action: string, success: boolean, result?: *, error?: *}>>} Promise that resolves
+     * with one result per operation, in the same order. A failed entry does not reject the batch.
+     */
+    batch: function(operations) {
+        return new Promise((resolve, reject) => {
+            exec(resolve, reject, 'GPGS', 'batch', [(operations || []).map(function(operation) {
+                return { action: operation.action, args: operation.args || [] };
+            })]);
+        });
     }
 };
 